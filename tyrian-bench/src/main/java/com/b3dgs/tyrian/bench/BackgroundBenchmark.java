@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.Rng;
+import com.b3dgs.tyrian.Simulation;
+import com.b3dgs.tyrian.background.Background;
+
+/**
+ * Benchmark {@link Background} update and render into an offscreen buffer at native resolution, with a scrolling
+ * camera.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BackgroundBenchmark
+{
+    private static final double EXTRP = 1.0;
+
+    private Camera camera;
+    private Background background;
+    private ImageBuffer buffer;
+    private Graphic g;
+
+    /**
+     * Start engine and create background.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchEngine.start();
+
+        final int width = Constant.NATIVE.getWidth();
+        final int height = Constant.NATIVE.getHeight();
+        camera = new Camera();
+        camera.setView(0, 0, width, height, height);
+        background = new Background(camera, new Rng(Simulation.SEED));
+        buffer = Graphics.createImageBuffer(width, height);
+        g = buffer.createGraphic();
+    }
+
+    /**
+     * Release buffer and terminate engine.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        g.dispose();
+        buffer.dispose();
+        BenchEngine.terminate();
+    }
+
+    /**
+     * Scroll, update and render background once.
+     * 
+     * @return The buffer rendered to.
+     */
+    @Benchmark
+    public ImageBuffer updateRender()
+    {
+        camera.moveLocation(EXTRP, 0.0, 1.0);
+        background.update(EXTRP);
+        background.render(g);
+        return buffer;
+    }
+}
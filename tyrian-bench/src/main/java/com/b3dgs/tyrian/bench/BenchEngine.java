@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.bench;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.audio.AudioFactory;
+import com.b3dgs.lionengine.audio.wav.WavFormat;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.tyrian.Constant;
+
+/**
+ * Engine lifecycle shared by benchmarks. Each benchmark runs in its own forked JVM, so the engine is started once per
+ * trial.
+ */
+final class BenchEngine
+{
+    /**
+     * Start engine with game resources and sound effects format.
+     */
+    static void start()
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, Constant.class);
+        AudioFactory.addFormat(new WavFormat());
+    }
+
+    /**
+     * Terminate engine.
+     */
+    static void terminate()
+    {
+        Engine.terminate();
+    }
+
+    /**
+     * Private constructor.
+     */
+    private BenchEngine()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
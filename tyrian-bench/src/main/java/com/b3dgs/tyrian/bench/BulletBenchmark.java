@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.Simulation;
+import com.b3dgs.tyrian.entity.BulletEngine;
+
+/**
+ * Benchmark {@link BulletEngine#update(double)} at bullet hell densities. Each invocation refills the engine up to the
+ * density with bullets spread over the camera view, then runs one update (move, bulk collision, removal).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BulletBenchmark
+{
+    private static final Media PROJECTILE = Medias.create("projectile", "pulse.xml");
+    private static final double SPEED = 0.5;
+
+    /** Number of active bullets. */
+    @Param(
+    {
+        "1024", "8192", "32768"
+    })
+    public int density;
+
+    private final SplittableRandom random = new SplittableRandom(Simulation.SEED);
+    private BulletEngine bullets;
+    private Camera camera;
+    private int type;
+
+    /**
+     * Start engine, create world and settle it with one update.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchEngine.start();
+
+        final Services services = Simulation.createServices();
+        final Simulation simulation = new Simulation(services);
+        bullets = services.get(BulletEngine.class);
+        camera = services.get(Camera.class);
+        type = bullets.register(PROJECTILE);
+        simulation.run(1, Simulation.EXTRP);
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        BenchEngine.terminate();
+    }
+
+    /**
+     * Refill and update bullets.
+     * 
+     * @return The remaining bullets, consumed to avoid dead code elimination.
+     */
+    @Benchmark
+    public int update()
+    {
+        final int group = Constant.COLLISION_GROUP_PROJECTILES_SHIP.intValue();
+        for (int i = bullets.getCount(); i < density; i++)
+        {
+            bullets.launch(type,
+                           camera.getX() + random.nextDouble() * camera.getWidth(),
+                           camera.getY() + random.nextDouble() * camera.getHeight(),
+                           random.nextDouble(-SPEED, SPEED),
+                           random.nextDouble(-SPEED, SPEED),
+                           group);
+        }
+        bullets.update(Simulation.EXTRP);
+
+        return bullets.getCount();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.Simulation;
+import com.b3dgs.tyrian.entity.ShipModel;
+
+/**
+ * Benchmark {@link ShipModel#notifyCollided(Collidable, Collision, Collision)} under projectile load. Each invocation
+ * spawns a projectiles wave on the ship, notifies ship of each hit, then updates handler once so destroyed projectiles
+ * go back to pool. Ship shield and armor are refilled before each wave, so it never dies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CollisionBenchmark
+{
+    private static final Media PROJECTILE = Medias.create("projectile", "bullet.xml");
+
+    /** Number of projectiles per wave. */
+    @Param(
+    {
+        "64", "256", "1024"
+    })
+    public int load;
+
+    private FeaturablePool pool;
+    private Handler handler;
+    private ShipModel ship;
+    private Transformable shipTransformable;
+
+    /**
+     * Start engine, create world and settle it with one update.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchEngine.start();
+
+        final Services services = Simulation.createServices();
+        final Simulation simulation = new Simulation(services);
+        pool = services.get(FeaturablePool.class);
+        handler = services.get(Handler.class);
+        ship = services.get(ShipModel.class);
+        shipTransformable = ship.getFeature(Transformable.class);
+        pool.prewarm(PROJECTILE, load);
+        simulation.run(1, Simulation.EXTRP);
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        BenchEngine.terminate();
+    }
+
+    /**
+     * Hit ship with a projectiles wave.
+     * 
+     * @return The ship shield, consumed to avoid dead code elimination.
+     */
+    @Benchmark
+    public int wave()
+    {
+        ship.getShield().fill();
+        ship.getArmor().fill();
+
+        for (int i = 0; i < load; i++)
+        {
+            final Featurable projectile = pool.acquire(PROJECTILE);
+            projectile.getFeature(Transformable.class).teleport(shipTransformable.getX(), shipTransformable.getY());
+            handler.add(projectile);
+            ship.notifyCollided(projectile.getFeature(Collidable.class), Collision.AUTOMATIC, Collision.AUTOMATIC);
+        }
+        handler.update(Simulation.EXTRP);
+
+        return ship.getShield().getCurrent();
+    }
+}
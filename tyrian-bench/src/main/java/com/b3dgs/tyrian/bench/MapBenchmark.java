@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.Map;
+import com.b3dgs.tyrian.MapStreamer;
+import com.b3dgs.tyrian.Rng;
+import com.b3dgs.tyrian.SceneryCuller;
+import com.b3dgs.tyrian.Simulation;
+
+/**
+ * Benchmark {@link Map#generate(Services, String, int, DoubleConsumer)} for the first level. Map services are recreated
+ * before each invocation, as generation adds its listener and layer to the map. Chunks stay cached by the loader after
+ * the first invocation, so this measures first chunk selection, map ring creation and sheets loading.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MapBenchmark
+{
+    private static final String LEVEL = "level1";
+
+    private Services services;
+
+    /**
+     * Start engine.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchEngine.start();
+    }
+
+    /**
+     * Create map services.
+     */
+    @Setup(Level.Invocation)
+    public void prepare()
+    {
+        services = new Services();
+        services.create(Camera.class);
+        services.create(Factory.class);
+        services.create(Handler.class);
+        services.create(MapTileGame.class);
+        services.add(new Rng(Simulation.SEED));
+        services.add(new FeaturablePool(services));
+        services.add(new SceneryCuller(services));
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        BenchEngine.terminate();
+    }
+
+    /**
+     * Generate first level.
+     * 
+     * @return The map streamer.
+     */
+    @Benchmark
+    public MapStreamer generate()
+    {
+        return Map.generate(services, LEVEL, Map.LEVELS, dy ->
+        {
+            // No world to shift
+        });
+    }
+}
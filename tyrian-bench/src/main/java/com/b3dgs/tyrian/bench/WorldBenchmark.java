@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.bench;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Layerable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.Simulation;
+
+/**
+ * Benchmark one world update (map streaming, spawn, entities, collisions) with a constant number of dynamic entities
+ * kept in camera view. Entities destroyed or gone off screen are replaced before next update, from a seeded random,
+ * so each density replays the same script.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WorldBenchmark implements HandlerListener
+{
+    private static final long SEED = 42L;
+    private static final List<Media> ENTITIES = Arrays.asList(Medias.create(Constant.FOLDER_ENTITY,
+                                                                            Constant.FOLDER_DYNAMIC,
+                                                                            "meteor_big.xml"),
+                                                              Medias.create(Constant.FOLDER_ENTITY,
+                                                                            Constant.FOLDER_DYNAMIC,
+                                                                            "meteor_little_1.xml"),
+                                                              Medias.create(Constant.FOLDER_ENTITY,
+                                                                            Constant.FOLDER_DYNAMIC,
+                                                                            "meteor_medium_1.xml"));
+
+    /** Number of scripted entities kept alive. */
+    @Param(
+    {
+        "0", "32", "128", "512"
+    })
+    public int density;
+
+    private final Set<Featurable> spawned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private SplittableRandom random;
+    private Simulation simulation;
+    private FeaturablePool pool;
+    private Handler handler;
+    private Camera camera;
+    private int missing;
+
+    /**
+     * Start engine and create world.
+     */
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchEngine.start();
+
+        final Services services = Simulation.createServices();
+        simulation = new Simulation(services);
+        pool = services.get(FeaturablePool.class);
+        handler = services.get(Handler.class);
+        camera = services.get(Camera.class);
+        handler.addListener(this);
+
+        random = new SplittableRandom(SEED);
+        missing = density;
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        BenchEngine.terminate();
+    }
+
+    /**
+     * Replace missing entities and update world once.
+     * 
+     * @return The world ticks, consumed to avoid dead code elimination.
+     */
+    @Benchmark
+    public long update()
+    {
+        for (; missing > 0; missing--)
+        {
+            spawn();
+        }
+        simulation.run(1, Simulation.EXTRP);
+        return simulation.getTicks();
+    }
+
+    /**
+     * Spawn a scripted entity at a random location in camera view.
+     */
+    private void spawn()
+    {
+        final Featurable featurable = pool.acquire(ENTITIES.get(random.nextInt(ENTITIES.size())));
+        featurable.getFeature(Layerable.class)
+                  .setLayer(Constant.LAYER_ENTITIES_MOVING, Constant.LAYER_ENTITIES_MOVING);
+        final Transformable transformable = featurable.getFeature(Transformable.class);
+        transformable.teleport(random.nextInt(camera.getWidth()), camera.getY() + random.nextInt(camera.getHeight()));
+        spawned.add(featurable);
+        handler.add(featurable);
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        // Nothing to do
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (spawned.remove(featurable))
+        {
+            missing++;
+        }
+    }
+}
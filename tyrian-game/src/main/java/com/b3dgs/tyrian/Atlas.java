@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Properties;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
+import com.b3dgs.lionengine.graphic.drawable.SpriteAnimated;
+
+/**
+ * Sprite atlas, generated by the PC <code>AtlasPacker</code> tool. Atlas pages are decoded once, and packed images are
+ * resolved as page sub regions, instead of one file decoding by image.
+ * <p>
+ * Index maps each packed image path to its page and region: <code>path=page,x,y,width,height</code>.
+ * </p>
+ */
+public final class Atlas
+{
+    /** Atlas folder. */
+    public static final String FOLDER = "atlas";
+    /** Index file name. */
+    public static final String INDEX = "atlas.properties";
+    /** Pages number key. */
+    public static final String KEY_PAGES = "pages";
+    /** Page file prefix. */
+    private static final String PAGE_PREFIX = "atlas_";
+    /** Page file extension. */
+    private static final String PAGE_EXTENSION = ".png";
+    /** Region values separator. */
+    private static final String SEPARATOR = ",";
+    /** Region values number. */
+    private static final int REGION_VALUES = 5;
+
+    /**
+     * Get page file name.
+     * 
+     * @param page The page index.
+     * @return The page file name.
+     */
+    public static String getPageName(int page)
+    {
+        return PAGE_PREFIX + page + PAGE_EXTENSION;
+    }
+
+    /**
+     * Load default atlas.
+     * 
+     * @return The loaded atlas.
+     * @throws LionEngineException If unable to read atlas.
+     */
+    public static Atlas load()
+    {
+        return load(Medias.create(FOLDER, INDEX));
+    }
+
+    /**
+     * Load atlas from its index, pages being next to it.
+     * 
+     * @param index The index file.
+     * @return The loaded atlas.
+     * @throws LionEngineException If unable to read atlas.
+     */
+    public static Atlas load(Media index)
+    {
+        final Properties properties = new Properties();
+        try (InputStream input = index.getInputStream())
+        {
+            properties.load(input);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception, index);
+        }
+
+        final ImageBuffer[] pages = new ImageBuffer[Integer.parseInt(properties.getProperty(KEY_PAGES))];
+        for (int i = 0; i < pages.length; i++)
+        {
+            pages[i] = Graphics.getImageBuffer(Medias.create(index.getParentPath(), getPageName(i)));
+        }
+
+        final java.util.Map<String, int[]> regions = new HashMap<>();
+        for (final String path : properties.stringPropertyNames())
+        {
+            if (!KEY_PAGES.equals(path))
+            {
+                final String[] values = properties.getProperty(path).split(SEPARATOR);
+                final int[] region = new int[REGION_VALUES];
+                for (int i = 0; i < REGION_VALUES; i++)
+                {
+                    region[i] = Integer.parseInt(values[i].trim());
+                }
+                regions.put(path, region);
+            }
+        }
+        return new Atlas(pages, regions);
+    }
+
+    private final java.util.Map<String, ImageBuffer> surfaces = new HashMap<>();
+    private final ImageBuffer[] pages;
+    private final java.util.Map<String, int[]> regions;
+
+    /**
+     * Create atlas.
+     * 
+     * @param pages The decoded pages.
+     * @param regions The regions by image path.
+     */
+    private Atlas(ImageBuffer[] pages, java.util.Map<String, int[]> regions)
+    {
+        super();
+
+        this.pages = pages;
+        this.regions = regions;
+    }
+
+    /**
+     * Check if image is packed.
+     * 
+     * @param media The image media.
+     * @return <code>true</code> if packed, <code>false</code> else.
+     */
+    public boolean contains(Media media)
+    {
+        return regions.containsKey(media.getPath());
+    }
+
+    /**
+     * Get packed image surface, extracted once from its page.
+     * 
+     * @param media The image media.
+     * @return The image surface.
+     * @throws LionEngineException If image is not packed.
+     */
+    public ImageBuffer getSurface(Media media)
+    {
+        final ImageBuffer cached = surfaces.get(media.getPath());
+        if (cached != null)
+        {
+            return cached;
+        }
+        final int[] region = regions.get(media.getPath());
+        if (region == null)
+        {
+            throw new LionEngineException(media, "Image not packed in atlas");
+        }
+        final int x = region[1];
+        final int y = region[2];
+        final int width = region[3];
+        final int height = region[4];
+        final ImageBuffer surface = Graphics.createImageBuffer(width, height, ColorRgba.TRANSPARENT);
+        final Graphic g = surface.createGraphic();
+        g.drawImage(pages[region[0]], 0, 0, width, height, x, y, x + width, y + height);
+        g.dispose();
+        surfaces.put(media.getPath(), surface);
+        return surface;
+    }
+
+    /**
+     * Get packed image region, as <code>page,x,y,width,height</code>.
+     * 
+     * @param media The image media.
+     * @return The image region, empty if not packed.
+     */
+    Optional<int[]> getRegion(Media media)
+    {
+        return Optional.ofNullable(regions.get(media.getPath()));
+    }
+
+    /**
+     * Get decoded page.
+     * 
+     * @param page The page index.
+     * @return The page surface.
+     */
+    ImageBuffer getPage(int page)
+    {
+        return pages[page];
+    }
+
+    /**
+     * Load an animated sprite from atlas if packed, from its file else. Returned sprite is already loaded.
+     * 
+     * @param media The image media.
+     * @param horizontalFrames The number of horizontal frames.
+     * @param verticalFrames The number of vertical frames.
+     * @return The loaded sprite.
+     * @throws LionEngineException If unable to load image.
+     */
+    public SpriteAnimated loadSpriteAnimated(Media media, int horizontalFrames, int verticalFrames)
+    {
+        if (contains(media))
+        {
+            return Drawable.loadSpriteAnimated(getSurface(media), horizontalFrames, verticalFrames);
+        }
+        final SpriteAnimated sprite = Drawable.loadSpriteAnimated(media, horizontalFrames, verticalFrames);
+        sprite.load();
+        return sprite;
+    }
+
+    /**
+     * Dispose pages and extracted surfaces.
+     */
+    public void dispose()
+    {
+        for (final ImageBuffer page : pages)
+        {
+            page.dispose();
+        }
+        for (final ImageBuffer surface : surfaces.values())
+        {
+            surface.dispose();
+        }
+        surfaces.clear();
+    }
+}
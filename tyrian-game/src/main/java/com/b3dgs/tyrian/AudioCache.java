@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.UtilFile;
+import com.b3dgs.lionengine.audio.Audio;
+import com.b3dgs.lionengine.audio.AudioFactory;
+
+/**
+ * Reference counted sound effects by normalized file name. A sound is loaded on its first acquisition only, and
+ * shared by all its users. Unreferenced sounds stay loaded until {@link #trim()}, so creating the same weapon again
+ * does not read the file anymore.
+ */
+public final class AudioCache
+{
+    /** Loaded sounds by path. */
+    private static final java.util.Map<String, Entry> CACHE = new HashMap<>();
+
+    /**
+     * Get the sound media from its name.
+     * 
+     * @param name The sound name, in sound effects folder, with or without extension.
+     * @return The sound media.
+     */
+    public static Media getMedia(String name)
+    {
+        return Medias.create(Constant.FOLDER_SFX, UtilFile.normalizeExtension(name, Sfx.AUDIO_FILE_EXTENSION));
+    }
+
+    /**
+     * Acquire a sound, loaded on first acquisition. Must be released with {@link #release(Media)}.
+     * 
+     * @param media The sound media.
+     * @return The shared sound.
+     * @throws LionEngineException If unable to load sound.
+     */
+    public static synchronized Audio acquire(Media media)
+    {
+        final Entry entry = CACHE.computeIfAbsent(media.getPath(), path -> new Entry(AudioFactory.loadAudio(media)));
+        entry.references++;
+        return entry.audio;
+    }
+
+    /**
+     * Release an acquired sound. Sound is stopped when not referenced anymore.
+     * 
+     * @param media The sound media.
+     */
+    public static synchronized void release(Media media)
+    {
+        final Entry entry = CACHE.get(media.getPath());
+        if (entry != null && entry.references > 0)
+        {
+            entry.references--;
+            if (entry.references == 0)
+            {
+                entry.audio.stop();
+            }
+        }
+    }
+
+    /**
+     * Get the number of references on a sound.
+     * 
+     * @param media The sound media.
+     * @return The references, <code>0</code> if not loaded.
+     */
+    public static synchronized int getReferences(Media media)
+    {
+        final Entry entry = CACHE.get(media.getPath());
+        if (entry == null)
+        {
+            return 0;
+        }
+        return entry.references;
+    }
+
+    /**
+     * Unload sounds not referenced anymore.
+     */
+    public static synchronized void trim()
+    {
+        final Iterator<Entry> iterator = CACHE.values().iterator();
+        while (iterator.hasNext())
+        {
+            if (iterator.next().references == 0)
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private AudioCache()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Loaded sound and its references.
+     */
+    private static final class Entry
+    {
+        private final Audio audio;
+        private int references;
+
+        /**
+         * Create entry.
+         * 
+         * @param audio The loaded sound.
+         */
+        Entry(Audio audio)
+        {
+            super();
+
+            this.audio = audio;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.TreeMap;
+
+import com.b3dgs.lionengine.Animation;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Origin;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.Feature;
+import com.b3dgs.lionengine.game.FramesConfig;
+import com.b3dgs.lionengine.game.OriginConfig;
+import com.b3dgs.lionengine.game.SurfaceConfig;
+import com.b3dgs.lionengine.game.feature.Animatable;
+import com.b3dgs.lionengine.game.feature.Displayable;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Layerable;
+import com.b3dgs.lionengine.game.feature.RoutineRender;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Renderable;
+
+/**
+ * Handler render pass by layer, replacing the handler displayable component. Handled featurables are kept by display
+ * layer when added. On render, each layer in ascending order renders its other displayables one by one, then records
+ * its sprites in the {@link SpriteBatch}, which draws them grouped by source image.
+ * <p>
+ * A featurable is recorded as sprite when it is animated, centered ({@link Origin#MIDDLE}), and has no
+ * {@link RoutineRender} feature: its sprite sheet is registered once by media, and drawn at its current animation
+ * frame, or at its surface <code>frame</code> attribute if defined. Sprites out of view are skipped. Display layer is
+ * read once, when added.
+ * </p>
+ */
+public final class BatchRenderer implements Renderable, HandlerListener
+{
+    /** Surface frame attribute. */
+    private static final String ATT_FRAME = "frame";
+    /** Sheet of featurables rendered by their displayable. */
+    private static final int[] NO_SHEET = new int[0];
+
+    private final java.util.Map<Integer, Layer> layers = new TreeMap<>();
+    private final java.util.Map<Media, int[]> sheets = new HashMap<>();
+    private final java.util.Map<Featurable, Layer> owners = new HashMap<>();
+    private final SpriteBatch batch;
+    private final Viewer viewer;
+
+    /**
+     * Create renderer, listening to handler additions and removals.
+     * 
+     * @param services The services reference.
+     * @throws LionEngineException If missing services.
+     */
+    public BatchRenderer(Services services)
+    {
+        super();
+
+        batch = services.get(SpriteBatch.class);
+        viewer = services.get(Viewer.class);
+        services.get(Handler.class).addListener(this);
+    }
+
+    /**
+     * Get the featurables rendered as sprites.
+     * 
+     * @return The recorded sprites number.
+     */
+    public int getSprites()
+    {
+        int sprites = 0;
+        for (final Layer layer : layers.values())
+        {
+            sprites += layer.sprites.size();
+        }
+        return sprites;
+    }
+
+    /**
+     * Get the sprite sheet of a featurable media, registered on first request.
+     * 
+     * @param featurable The featurable reference.
+     * @return The sheet index and fixed frame ({@link Animation#MINIMUM_FRAME} less if animated), empty if not a
+     *         sprite.
+     */
+    private int[] getSheet(Featurable featurable)
+    {
+        if (!featurable.hasFeature(Animatable.class) || !featurable.hasFeature(Transformable.class))
+        {
+            return NO_SHEET;
+        }
+        for (final Feature feature : featurable.getFeatures())
+        {
+            if (feature instanceof RoutineRender)
+            {
+                return NO_SHEET;
+            }
+        }
+        return sheets.computeIfAbsent(featurable.getMedia(), this::register);
+    }
+
+    /**
+     * Register the sprite sheet of a featurable media.
+     * 
+     * @param media The featurable media.
+     * @return The sheet index and fixed frame, empty if not a sprite.
+     * @throws LionEngineException If invalid configuration.
+     */
+    private int[] register(Media media)
+    {
+        final Setup setup = new Setup(media);
+        if (!setup.hasNode(SurfaceConfig.NODE_SURFACE)
+            || !setup.hasNode(OriginConfig.NODE_ORIGIN)
+            || OriginConfig.imports(setup) != Origin.MIDDLE)
+        {
+            return NO_SHEET;
+        }
+        final FramesConfig frames = FramesConfig.imports(setup);
+        final Media surface = Medias.create(media.getParentPath(), SurfaceConfig.imports(setup).getImage());
+        return new int[]
+        {
+            batch.register(surface, frames.getHorizontal(), frames.getVertical()),
+            ConfigCache.getInteger(setup, Animation.MINIMUM_FRAME - 1, ATT_FRAME, SurfaceConfig.NODE_SURFACE)
+        };
+    }
+
+    /**
+     * Render layers in ascending order.
+     * 
+     * @param g The graphic output.
+     */
+    @Override
+    public void render(Graphic g)
+    {
+        for (final Layer layer : layers.values())
+        {
+            for (final Displayable displayable : layer.displayables.values())
+            {
+                displayable.render(g);
+            }
+            for (final Sprite sprite : layer.sprites.values())
+            {
+                sprite.record();
+            }
+            batch.render(g);
+        }
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Displayable.class) && featurable.hasFeature(Layerable.class))
+        {
+            final Integer index = featurable.getFeature(Layerable.class).getLayerDisplay();
+            final Layer layer = layers.computeIfAbsent(index, i -> new Layer());
+            final int[] sheet = getSheet(featurable);
+            if (sheet.length > 0)
+            {
+                layer.sprites.put(featurable, new Sprite(featurable, sheet[0], sheet[1]));
+            }
+            else
+            {
+                layer.displayables.put(featurable, featurable.getFeature(Displayable.class));
+            }
+            owners.put(featurable, layer);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        final Layer layer = owners.remove(featurable);
+        if (layer != null)
+        {
+            layer.sprites.remove(featurable);
+            layer.displayables.remove(featurable);
+        }
+    }
+
+    /**
+     * Display layer content, in add order.
+     */
+    private static final class Layer
+    {
+        /** Featurables rendered by their displayable. */
+        private final java.util.Map<Featurable, Displayable> displayables = new LinkedHashMap<>();
+        /** Featurables recorded as sprites. */
+        private final java.util.Map<Featurable, Sprite> sprites = new LinkedHashMap<>();
+
+        /**
+         * Create layer.
+         */
+        Layer()
+        {
+            super();
+        }
+    }
+
+    /**
+     * Featurable recorded as sprite.
+     */
+    private final class Sprite
+    {
+        /** Transformable reference. */
+        private final Transformable transformable;
+        /** Animatable reference. */
+        private final Animatable animatable;
+        /** Sheet index. */
+        private final int sheet;
+        /** Fixed frame, lower than {@link Animation#MINIMUM_FRAME} if animated. */
+        private final int frame;
+
+        /**
+         * Create sprite.
+         * 
+         * @param featurable The featurable reference.
+         * @param sheet The sheet index.
+         * @param frame The fixed frame.
+         */
+        Sprite(Featurable featurable, int sheet, int frame)
+        {
+            super();
+
+            transformable = featurable.getFeature(Transformable.class);
+            animatable = featurable.getFeature(Animatable.class);
+            this.sheet = sheet;
+            this.frame = frame;
+        }
+
+        /**
+         * Record in batch if viewable.
+         */
+        void record()
+        {
+            if (viewer.isViewable(transformable, 0, 0))
+            {
+                batch.draw(sheet,
+                           frame < Animation.MINIMUM_FRAME ? animatable.getFrame() : frame,
+                           (int) Math.floor(viewer.getViewpointX(transformable.getX())),
+                           (int) Math.floor(viewer.getViewpointY(transformable.getY())));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Level chunks loader. Chunks are decoded in parallel on the common fork-join pool and kept by theme, so any further
+ * map generation of the same theme does not touch the disk anymore. Asking more chunks than cached loads the theme
+ * again with the larger count.
+ */
+final class ChunkLoader
+{
+    /** Loaded chunks by theme. */
+    private static final java.util.Map<String, List<MapChunk>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Get the theme chunks, loading them if not cached or if cached ones are fewer.
+     * 
+     * @param theme The theme name.
+     * @param count The last chunk index (inclusive).
+     * @return The theme chunks from <code>0</code> to <code>count</code>, ordered by index.
+     * @throws LionEngineException If unable to read a chunk.
+     */
+    static List<MapChunk> get(String theme, int count)
+    {
+        final List<MapChunk> cached = CACHE.get(theme);
+        if (cached != null && cached.size() > count)
+        {
+            return cached.subList(0, count + 1);
+        }
+        final List<MapChunk> loaded = load(theme, count);
+        final List<MapChunk> kept = CACHE.merge(theme, loaded, ChunkLoader::getLarger);
+        return kept.subList(0, count + 1);
+    }
+
+    /**
+     * Get the list with the most chunks.
+     * 
+     * @param a The first list.
+     * @param b The second list.
+     * @return The larger list, the first one if same size.
+     */
+    private static List<MapChunk> getLarger(List<MapChunk> a, List<MapChunk> b)
+    {
+        if (a.size() >= b.size())
+        {
+            return a;
+        }
+        return b;
+    }
+
+    /**
+     * Check if theme chunks are already loaded.
+     * 
+     * @param theme The theme name.
+     * @return <code>true</code> if loaded, <code>false</code> else.
+     */
+    static boolean isLoaded(String theme)
+    {
+        return CACHE.containsKey(theme);
+    }
+
+    /**
+     * Release all loaded chunks.
+     */
+    static void clear()
+    {
+        CACHE.clear();
+    }
+
+    /**
+     * Load all theme chunks in parallel.
+     * 
+     * @param theme The theme name.
+     * @param count The last chunk index (inclusive).
+     * @return The loaded chunks, ordered by index.
+     * @throws LionEngineException If unable to read a chunk.
+     */
+    private static List<MapChunk> load(String theme, int count)
+    {
+        try
+        {
+            return Collections.unmodifiableList(IntStream.rangeClosed(0, count)
+                                                         .parallel()
+                                                         .mapToObj(i -> load(Medias.create(Constant.FOLDER_LEVELS,
+                                                                                           theme,
+                                                                                           i + MapChunk.EXTENSION)))
+                                                         .collect(Collectors.toList()));
+        }
+        catch (final UncheckedIOException exception)
+        {
+            throw new LionEngineException(exception.getCause());
+        }
+    }
+
+    /**
+     * Load a single chunk.
+     * 
+     * @param level The chunk file.
+     * @return The loaded chunk.
+     * @throws UncheckedIOException If unable to read chunk.
+     */
+    private static MapChunk load(Media level)
+    {
+        try
+        {
+            return MapChunk.read(level);
+        }
+        catch (final IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ChunkLoader()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
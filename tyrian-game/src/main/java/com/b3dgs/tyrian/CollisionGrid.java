@@ -0,0 +1,443 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.ComponentUpdater;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handlables;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+
+/**
+ * Collision pass replacing the engine one. Collidables are hashed each update in a uniform grid covering the camera
+ * view, then each one is tested against the collidables of its accepted groups in its own and neighbor cells only,
+ * and notified of each hit through {@link Collidable#notifyCollided}, with the intersecting boxes, as the engine does.
+ * <p>
+ * Each cell keeps one list by collision group, and a count by accepted group, so a query only looks at the groups that
+ * may collide, whatever the number of collidables of other groups around. Groups must be between <code>0</code> and
+ * {@link #GROUPS} excluded, collidables of other groups never collide.
+ * </p>
+ * <p>
+ * Collidables are disabled when added to the handler, so the engine collision component skips them, and the grid is
+ * the only narrow phase. It runs after the features update, on the current locations. Boxes are the
+ * {@link CollisionShape} of the collidable media. Cell size covers the largest collision box, so checking the
+ * surrounding cells cannot miss a collision. Collidables outside the grid never collide, nothing is hit off screen.
+ * </p>
+ * <p>
+ * The grid is also queried by the {@link com.b3dgs.tyrian.entity.BulletEngine}, its bullets not being collidables.
+ * </p>
+ */
+public final class CollisionGrid implements ComponentUpdater, HandlerListener
+{
+    /** Supported collision groups. */
+    public static final int GROUPS = Integer.SIZE;
+    /** Cell size in pixel. */
+    private static final int CELL_SIZE = 80;
+    /** Cells added around the camera view. */
+    private static final int MARGIN_IN_CELL = 1;
+    /** Outside grid cell index, or end of list. */
+    private static final int OUTSIDE = -1;
+    /** Default collidables capacity. */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Get the accepted groups as a bit mask.
+     * 
+     * @param collidable The collidable reference.
+     * @return The accepted groups mask.
+     */
+    private static int getAcceptMask(Collidable collidable)
+    {
+        int mask = 0;
+        for (final Integer accepted : collidable.getAccepted())
+        {
+            final int group = accepted.intValue();
+            if (group >= 0 && group < GROUPS)
+            {
+                mask |= 1 << group;
+            }
+        }
+        return mask;
+    }
+
+    private final java.util.Map<Media, CollisionShape> shapesByMedia = new HashMap<>();
+    private final java.util.Map<Collidable, CollisionShape> handled = new IdentityHashMap<>();
+    private final Camera camera;
+    private int columns;
+    private int rows;
+    private int[] heads = new int[0];
+    private int[] accepts = new int[0];
+    private int[] next = new int[DEFAULT_CAPACITY];
+    private int[] cells = new int[DEFAULT_CAPACITY];
+    private int[] groups = new int[DEFAULT_CAPACITY];
+    private int[] acceptMasks = new int[DEFAULT_CAPACITY];
+    private double[] xs = new double[DEFAULT_CAPACITY];
+    private double[] ys = new double[DEFAULT_CAPACITY];
+    private CollisionShape[] shapes = new CollisionShape[DEFAULT_CAPACITY];
+    private Collidable[] collidables = new Collidable[DEFAULT_CAPACITY];
+    private int[] hits = new int[DEFAULT_CAPACITY];
+    private int count;
+    private int tests;
+
+    /**
+     * Create grid.
+     * 
+     * @param camera The camera reference.
+     */
+    public CollisionGrid(Camera camera)
+    {
+        super();
+
+        this.camera = camera;
+    }
+
+    /**
+     * Get the number of pairs tested on last update.
+     * 
+     * @return The tested pairs.
+     */
+    public int getTests()
+    {
+        return tests;
+    }
+
+    /**
+     * Get the collidables accepting a group in the cells around a segment, as hashed on last update. Segment must be
+     * shorter than a cell, such as a move of one step, so its ends are in the same or neighbor cells.
+     * 
+     * @param x1 The segment start horizontal location.
+     * @param y1 The segment start vertical location.
+     * @param x2 The segment end horizontal location.
+     * @param y2 The segment end vertical location.
+     * @param group The collision group.
+     * @param result The collidables found, cleared first.
+     */
+    public void getAccepting(double x1, double y1, double x2, double y2, int group, List<Collidable> result)
+    {
+        result.clear();
+        final int start = getCell(x1, y1);
+        final int end = getCell(x2, y2);
+        if (start == OUTSIDE && end == OUTSIDE || group < 0 || group >= GROUPS)
+        {
+            return;
+        }
+        final int a = start == OUTSIDE ? end : start;
+        final int b = end == OUTSIDE ? start : end;
+        final int minX = Math.max(0, Math.min(a % columns, b % columns) - 1);
+        final int minY = Math.max(0, Math.min(a / columns, b / columns) - 1);
+        final int maxX = Math.min(columns - 1, Math.max(a % columns, b % columns) + 1);
+        final int maxY = Math.min(rows - 1, Math.max(a / columns, b / columns) + 1);
+
+        for (int j = minY; j <= maxY; j++)
+        {
+            for (int i = minX; i <= maxX; i++)
+            {
+                final int base = (j * columns + i) * GROUPS;
+                if (accepts[base + group] > 0)
+                {
+                    addAccepting(base, group, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the collidables of a cell accepting a group.
+     * 
+     * @param base The cell base index.
+     * @param group The collision group.
+     * @param result The collidables found.
+     */
+    private void addAccepting(int base, int group, List<Collidable> result)
+    {
+        for (int g = 0; g < GROUPS; g++)
+        {
+            for (int entry = heads[base + g]; entry != OUTSIDE; entry = next[entry])
+            {
+                if ((acceptMasks[entry] >>> group & 1) != 0 && collidables[entry] != null)
+                {
+                    result.add(collidables[entry]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resize grid to camera view if needed, and clear it.
+     */
+    void reset()
+    {
+        final int c = camera.getWidth() / CELL_SIZE + 1 + MARGIN_IN_CELL * 2;
+        final int r = camera.getHeight() / CELL_SIZE + 1 + MARGIN_IN_CELL * 2;
+        if (c != columns || r != rows)
+        {
+            columns = c;
+            rows = r;
+            heads = new int[columns * rows * GROUPS];
+            accepts = new int[columns * rows * GROUPS];
+        }
+        Arrays.fill(heads, OUTSIDE);
+        Arrays.fill(accepts, 0);
+        Arrays.fill(collidables, 0, count, null);
+        Arrays.fill(shapes, 0, count, null);
+        count = 0;
+        tests = 0;
+    }
+
+    /**
+     * Add an entry to its cell.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @param group The collision group.
+     * @param acceptMask The accepted groups mask.
+     * @param shape The collision shape.
+     * @return The entry index.
+     */
+    int add(double x, double y, int group, int acceptMask, CollisionShape shape)
+    {
+        if (count == cells.length)
+        {
+            final int capacity = count * 2;
+            next = Arrays.copyOf(next, capacity);
+            cells = Arrays.copyOf(cells, capacity);
+            groups = Arrays.copyOf(groups, capacity);
+            acceptMasks = Arrays.copyOf(acceptMasks, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            shapes = Arrays.copyOf(shapes, capacity);
+            collidables = Arrays.copyOf(collidables, capacity);
+            hits = Arrays.copyOf(hits, capacity);
+        }
+
+        final int cell = getCell(x, y);
+        groups[count] = group;
+        acceptMasks[count] = acceptMask;
+        xs[count] = x;
+        ys[count] = y;
+        shapes[count] = shape;
+        next[count] = OUTSIDE;
+        if (cell == OUTSIDE || group < 0 || group >= GROUPS)
+        {
+            cells[count] = OUTSIDE;
+        }
+        else
+        {
+            cells[count] = cell;
+            final int base = cell * GROUPS;
+            next[count] = heads[base + group];
+            heads[base + group] = count;
+            for (int mask = acceptMask; mask != 0; mask &= mask - 1)
+            {
+                accepts[base + Integer.numberOfTrailingZeros(mask)]++;
+            }
+        }
+        return count++;
+    }
+
+    /**
+     * Get the cell index of a location.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     * @return The cell index, {@link #OUTSIDE} if outside grid.
+     */
+    private int getCell(double x, double y)
+    {
+        final int cx = (int) Math.floor((x - camera.getX()) / CELL_SIZE) + MARGIN_IN_CELL;
+        final int cy = (int) Math.floor((y - camera.getY()) / CELL_SIZE) + MARGIN_IN_CELL;
+        if (cx < 0 || cy < 0 || cx >= columns || cy >= rows)
+        {
+            return OUTSIDE;
+        }
+        return cy * columns + cx;
+    }
+
+    /**
+     * Find the entries of an accepted group, in the entry cell and its neighbors, intersecting the entry shape.
+     * Found entries and their intersecting boxes pair are stored in the hits buffer, two values each.
+     * 
+     * @param index The entry index.
+     * @return The number of hits.
+     */
+    int collide(int index)
+    {
+        final int cell = cells[index];
+        final int acceptMask = acceptMasks[index];
+        if (cell == OUTSIDE || acceptMask == 0)
+        {
+            return 0;
+        }
+        final int cx = cell % columns;
+        final int cy = cell / columns;
+        final int maxX = Math.min(columns - 1, cx + 1);
+        final int maxY = Math.min(rows - 1, cy + 1);
+
+        int found = 0;
+        for (int y = Math.max(0, cy - 1); y <= maxY; y++)
+        {
+            for (int x = Math.max(0, cx - 1); x <= maxX; x++)
+            {
+                final int base = (y * columns + x) * GROUPS;
+                for (int mask = acceptMask; mask != 0; mask &= mask - 1)
+                {
+                    found = collide(index, heads[base + Integer.numberOfTrailingZeros(mask)], found);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Test entry against a cell group list.
+     * 
+     * @param index The entry index.
+     * @param head The list head.
+     * @param found The hits already found.
+     * @return The hits found, including the previous ones.
+     */
+    private int collide(int index, int head, int found)
+    {
+        int hit = found;
+        for (int other = head; other != OUTSIDE; other = next[other])
+        {
+            if (other != index)
+            {
+                tests++;
+                final int pair = shapes[index].intersects(xs[index], ys[index], shapes[other], xs[other], ys[other]);
+                if (pair >= 0)
+                {
+                    if (hit * 2 + 1 >= hits.length)
+                    {
+                        hits = Arrays.copyOf(hits, hits.length * 2);
+                    }
+                    hits[hit * 2] = other;
+                    hits[hit * 2 + 1] = pair;
+                    hit++;
+                }
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * Get a hit entry found by last {@link #collide(int)}.
+     * 
+     * @param hit The hit index.
+     * @return The hit entry index.
+     */
+    int getHitEntry(int hit)
+    {
+        return hits[hit * 2];
+    }
+
+    /**
+     * Get a hit boxes pair found by last {@link #collide(int)}.
+     * 
+     * @param hit The hit index.
+     * @return The boxes pair index, as {@link CollisionShape#intersects(double, double, CollisionShape, double,
+     *         double)}.
+     */
+    int getHitPair(int hit)
+    {
+        return hits[hit * 2 + 1];
+    }
+
+    /**
+     * Notify an entry of its hits.
+     * 
+     * @param index The entry index.
+     * @param found The hits found.
+     */
+    private void notify(int index, int found)
+    {
+        final Collidable collidable = collidables[index];
+        final CollisionShape shape = shapes[index];
+        for (int hit = 0; hit < found; hit++)
+        {
+            final int other = getHitEntry(hit);
+            final int pair = getHitPair(hit);
+            final CollisionShape otherShape = shapes[other];
+            collidable.notifyCollided(collidables[other],
+                                      shape.getCollision(pair / otherShape.getBoxes()),
+                                      otherShape.getCollision(pair % otherShape.getBoxes()));
+        }
+    }
+
+    /*
+     * ComponentUpdater
+     */
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        reset();
+        for (final Collidable collidable : featurables.get(Collidable.class))
+        {
+            final CollisionShape shape = handled.get(collidable);
+            if (shape != null)
+            {
+                final Transformable transformable = collidable.getFeature(Transformable.class);
+                final int index = add(transformable.getX(),
+                                      transformable.getY(),
+                                      collidable.getGroup().intValue(),
+                                      getAcceptMask(collidable),
+                                      shape);
+                collidables[index] = collidable;
+            }
+        }
+        for (int i = 0; i < count; i++)
+        {
+            notify(i, collide(i));
+        }
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Collidable.class))
+        {
+            final Collidable collidable = featurable.getFeature(Collidable.class);
+            collidable.setEnabled(false);
+            handled.put(collidable,
+                        shapesByMedia.computeIfAbsent(featurable.getMedia(),
+                                                      media -> CollisionShape.imports(new Setup(media))));
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Collidable.class))
+        {
+            handled.remove(featurable.getFeature(Collidable.class));
+        }
+    }
+}
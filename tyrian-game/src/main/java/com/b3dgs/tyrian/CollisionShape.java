@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.List;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Origin;
+import com.b3dgs.lionengine.game.OriginConfig;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.collidable.CollisionConfig;
+
+/**
+ * Collision boxes of a featurable media, relative to its location, as read from its {@link CollisionConfig} and
+ * {@link OriginConfig} (mirror is ignored, no collidable uses it). Shapes are immutable, and shared by all the
+ * instances of the same media. A media without collisions has an empty shape, which never collides.
+ */
+public final class CollisionShape
+{
+    /** Values by collision box: minimum horizontal and vertical offsets, width and height. */
+    private static final int BOX = 4;
+
+    /**
+     * Import the collision shape of a setup.
+     * 
+     * @param setup The featurable setup.
+     * @return The collision shape.
+     * @throws LionEngineException If invalid configuration.
+     */
+    public static CollisionShape imports(Setup setup)
+    {
+        final Origin origin;
+        if (setup.hasNode(OriginConfig.NODE_ORIGIN))
+        {
+            origin = OriginConfig.imports(setup);
+        }
+        else
+        {
+            origin = Origin.TOP_LEFT;
+        }
+        if (!setup.hasNode(CollisionConfig.NODE_COLLISIONS))
+        {
+            return new CollisionShape(new double[0], new Collision[0]);
+        }
+        final List<Collision> collisions = CollisionConfig.imports(setup).getCollisions();
+        final int n = collisions.size();
+        final double[] boxes = new double[n * BOX];
+        for (int i = 0; i < n; i++)
+        {
+            final Collision collision = collisions.get(i);
+            final int index = i * BOX;
+            boxes[index] = origin.getX(collision.getOffsetX(), collision.getWidth());
+            boxes[index + 1] = origin.getY(collision.getOffsetY(), collision.getHeight());
+            boxes[index + 2] = collision.getWidth();
+            boxes[index + 3] = collision.getHeight();
+        }
+        return new CollisionShape(boxes, collisions.toArray(new Collision[n]));
+    }
+
+    private final double[] boxes;
+    private final Collision[] collisions;
+
+    /**
+     * Create shape.
+     * 
+     * @param boxes The boxes values, {@link #BOX} by collision.
+     * @param collisions The collisions, in boxes order.
+     */
+    CollisionShape(double[] boxes, Collision[] collisions)
+    {
+        super();
+
+        this.boxes = boxes;
+        this.collisions = collisions;
+    }
+
+    /**
+     * Get the number of boxes.
+     * 
+     * @return The boxes number.
+     */
+    public int getBoxes()
+    {
+        return collisions.length;
+    }
+
+    /**
+     * Get the collision of a box.
+     * 
+     * @param box The box index.
+     * @return The box collision.
+     */
+    public Collision getCollision(int box)
+    {
+        return collisions[box];
+    }
+
+    /**
+     * Get the first box containing a point.
+     * 
+     * @param x The shape horizontal location.
+     * @param y The shape vertical location.
+     * @param px The point horizontal location.
+     * @param py The point vertical location.
+     * @return The box index, <code>-1</code> if none.
+     */
+    public int contains(double x, double y, double px, double py)
+    {
+        for (int i = 0; i < boxes.length; i += BOX)
+        {
+            final double minX = x + boxes[i];
+            final double minY = y + boxes[i + 1];
+            if (px >= minX && px <= minX + boxes[i + 2] && py >= minY && py <= minY + boxes[i + 3])
+            {
+                return i / BOX;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the first box crossed by a segment.
+     * 
+     * @param x The shape horizontal location.
+     * @param y The shape vertical location.
+     * @param x1 The segment start horizontal location.
+     * @param y1 The segment start vertical location.
+     * @param x2 The segment end horizontal location.
+     * @param y2 The segment end vertical location.
+     * @return The box index, <code>-1</code> if none.
+     */
+    public int crosses(double x, double y, double x1, double y1, double x2, double y2)
+    {
+        final double dx = x2 - x1;
+        final double dy = y2 - y1;
+        for (int i = 0; i < boxes.length; i += BOX)
+        {
+            final double minX = x + boxes[i];
+            final double minY = y + boxes[i + 1];
+            final double maxX = minX + boxes[i + 2];
+            final double maxY = minY + boxes[i + 3];
+            final double enter = Math.max(getEnter(x1, dx, minX, maxX), getEnter(y1, dy, minY, maxY));
+            final double exit = Math.min(getExit(x1, dx, minX, maxX), getExit(y1, dy, minY, maxY));
+            if (enter <= exit)
+            {
+                return i / BOX;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the first pair of intersecting boxes with another shape.
+     * 
+     * @param x The shape horizontal location.
+     * @param y The shape vertical location.
+     * @param other The other shape.
+     * @param ox The other shape horizontal location.
+     * @param oy The other shape vertical location.
+     * @return The pair index (this box index times other boxes number, plus other box index), <code>-1</code> if
+     *         none.
+     */
+    public int intersects(double x, double y, CollisionShape other, double ox, double oy)
+    {
+        final double[] others = other.boxes;
+        for (int i = 0; i < boxes.length; i += BOX)
+        {
+            final double minX = x + boxes[i];
+            final double minY = y + boxes[i + 1];
+            final double maxX = minX + boxes[i + 2];
+            final double maxY = minY + boxes[i + 3];
+            for (int j = 0; j < others.length; j += BOX)
+            {
+                final double otherMinX = ox + others[j];
+                final double otherMinY = oy + others[j + 1];
+                if (minX <= otherMinX + others[j + 2]
+                    && otherMinX <= maxX
+                    && minY <= otherMinY + others[j + 3]
+                    && otherMinY <= maxY)
+                {
+                    return i / BOX * other.getBoxes() + j / BOX;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the segment progress entering a box range on one axis.
+     * 
+     * @param start The segment start.
+     * @param delta The segment length on axis.
+     * @param min The range minimum.
+     * @param max The range maximum.
+     * @return The entering progress, from <code>0.0</code>, infinite if never inside.
+     */
+    private static double getEnter(double start, double delta, double min, double max)
+    {
+        if (Double.compare(Math.abs(delta), 0.0) == 0)
+        {
+            return start >= min && start <= max ? 0.0 : Double.POSITIVE_INFINITY;
+        }
+        return Math.max(0.0, Math.min((min - start) / delta, (max - start) / delta));
+    }
+
+    /**
+     * Get the segment progress exiting a box range on one axis.
+     * 
+     * @param start The segment start.
+     * @param delta The segment length on axis.
+     * @param min The range minimum.
+     * @param max The range maximum.
+     * @return The exiting progress, up to <code>1.0</code>, negative infinite if never inside.
+     */
+    private static double getExit(double start, double delta, double min, double max)
+    {
+        if (Double.compare(Math.abs(delta), 0.0) == 0)
+        {
+            return start >= min && start <= max ? 1.0 : Double.NEGATIVE_INFINITY;
+        }
+        return Math.min(1.0, Math.max((min - start) / delta, (max - start) / delta));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.Localizable;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.entity.EffectModel;
+
+/**
+ * Deferred moves, spawns and destroys of a {@link ParallelRoutine} worker. Commands are stored in arrays reused
+ * between frames, and applied in recording order on the game thread, so listeners are never notified from a worker.
+ */
+public final class CommandBuffer
+{
+    /** Default commands capacity. */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private Transformable[] moves = new Transformable[DEFAULT_CAPACITY];
+    private double[] movesX = new double[DEFAULT_CAPACITY];
+    private double[] movesY = new double[DEFAULT_CAPACITY];
+    private int movesCount;
+    private Identifiable[] destroys = new Identifiable[DEFAULT_CAPACITY];
+    private int destroysCount;
+    private Media[] effects = new Media[DEFAULT_CAPACITY];
+    private Localizable[] effectsAt = new Localizable[DEFAULT_CAPACITY];
+    private int effectsCount;
+
+    /**
+     * Create buffer.
+     */
+    CommandBuffer()
+    {
+        super();
+    }
+
+    /**
+     * Defer a move. Transformable listeners are notified when applied.
+     * 
+     * @param transformable The transformable to move.
+     * @param vx The horizontal move, extrapolation included.
+     * @param vy The vertical move, extrapolation included.
+     */
+    public void move(Transformable transformable, double vx, double vy)
+    {
+        if (movesCount == moves.length)
+        {
+            moves = Arrays.copyOf(moves, movesCount * 2);
+            movesX = Arrays.copyOf(movesX, movesCount * 2);
+            movesY = Arrays.copyOf(movesY, movesCount * 2);
+        }
+        moves[movesCount] = transformable;
+        movesX[movesCount] = vx;
+        movesY[movesCount] = vy;
+        movesCount++;
+    }
+
+    /**
+     * Defer a destroy.
+     * 
+     * @param identifiable The featurable to destroy.
+     */
+    public void destroy(Identifiable identifiable)
+    {
+        if (destroysCount == destroys.length)
+        {
+            destroys = Arrays.copyOf(destroys, destroysCount * 2);
+        }
+        destroys[destroysCount] = identifiable;
+        destroysCount++;
+    }
+
+    /**
+     * Defer an effect spawn. Effect is acquired from the {@link FeaturablePool}, added to the {@link Handler} and
+     * started at the localizable location when applied.
+     * 
+     * @param media The effect media.
+     * @param localizable The effect location, read once deferred moves are applied.
+     */
+    public void spawnEffect(Media media, Localizable localizable)
+    {
+        if (effectsCount == effects.length)
+        {
+            effects = Arrays.copyOf(effects, effectsCount * 2);
+            effectsAt = Arrays.copyOf(effectsAt, effectsCount * 2);
+        }
+        effects[effectsCount] = media;
+        effectsAt[effectsCount] = localizable;
+        effectsCount++;
+    }
+
+    /**
+     * Apply and clear commands: moves, then spawns, then destroys.
+     * 
+     * @param pool The pool reference.
+     * @param handler The handler reference.
+     */
+    void apply(FeaturablePool pool, Handler handler)
+    {
+        for (int i = 0; i < movesCount; i++)
+        {
+            moves[i].moveLocation(1.0, movesX[i], movesY[i]);
+        }
+        Arrays.fill(moves, 0, movesCount, null);
+        movesCount = 0;
+
+        for (int i = 0; i < effectsCount; i++)
+        {
+            if (pool.hasRoom(effects[i]))
+            {
+                final Featurable effect = pool.acquire(effects[i]);
+                handler.add(effect);
+                effect.getFeature(EffectModel.class).start(effectsAt[i]);
+            }
+        }
+        Arrays.fill(effects, 0, effectsCount, null);
+        Arrays.fill(effectsAt, 0, effectsCount, null);
+        effectsCount = 0;
+
+        for (int i = 0; i < destroysCount; i++)
+        {
+            destroys[i].destroy();
+        }
+        Arrays.fill(destroys, 0, destroysCount, null);
+        destroysCount = 0;
+    }
+}
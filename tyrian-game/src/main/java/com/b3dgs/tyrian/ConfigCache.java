@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.b3dgs.lionengine.Animation;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.AnimationConfig;
+import com.b3dgs.lionengine.game.Direction;
+import com.b3dgs.lionengine.game.Force;
+import com.b3dgs.lionengine.game.ForceConfig;
+import com.b3dgs.lionengine.game.feature.Setup;
+
+/**
+ * Featurable configuration values by setup media. Each value is read from XML on first request, then shared by all
+ * the instances of the same media, so feature constructors do not walk the XML tree anymore on pool misses.
+ * <p>
+ * Values are keyed by their importing type and node path, and are immutable. Cache is thread safe, as featurables may
+ * be created from background loading.
+ * </p>
+ */
+public final class ConfigCache
+{
+    /** Cached values by media, then by key. */
+    private static final java.util.Map<Media, java.util.Map<Key, Object>> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Get a cached value, imported on first request.
+     * 
+     * @param <T> The value type.
+     * @param setup The setup reference.
+     * @param owner The importing type, values of different owners never share a key.
+     * @param importer The value importer, must return an immutable value and must not request this cache.
+     * @param path The node path the value is imported from.
+     * @return The cached value.
+     * @throws LionEngineException If unable to import value.
+     */
+    public static <T> T get(Setup setup, Class<?> owner, Function<Setup, T> importer, String... path)
+    {
+        return get(setup, new Key(owner, path), importer);
+    }
+
+    /**
+     * Get a cached value, imported on first request.
+     * 
+     * @param <T> The value type.
+     * @param setup The setup reference.
+     * @param key The value key.
+     * @param importer The value importer.
+     * @return The cached value.
+     * @throws LionEngineException If unable to import value.
+     */
+    private static <T> T get(Setup setup, Key key, Function<Setup, T> importer)
+    {
+        final java.util.Map<Key, Object> values = CACHE.computeIfAbsent(setup.getMedia(),
+                                                                        m -> new ConcurrentHashMap<>());
+        @SuppressWarnings("unchecked")
+        final T value = (T) values.computeIfAbsent(key, k -> importer.apply(setup));
+        return value;
+    }
+
+    /**
+     * Get the setup animations.
+     * 
+     * @param setup The setup reference.
+     * @return The animations configuration.
+     * @throws LionEngineException If invalid animations.
+     */
+    public static AnimationConfig getAnimations(Setup setup)
+    {
+        return get(setup, AnimationConfig.class, AnimationConfig::imports);
+    }
+
+    /**
+     * Get a setup animation.
+     * 
+     * @param setup The setup reference.
+     * @param name The animation name.
+     * @return The animation, empty if not defined.
+     * @throws LionEngineException If invalid animations.
+     */
+    public static Optional<Animation> getAnimation(Setup setup, String name)
+    {
+        final AnimationConfig config = getAnimations(setup);
+        if (config.hasAnimation(name))
+        {
+            return Optional.of(config.getAnimation(name));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get the setup force direction. Only the imported direction is kept, as an immutable value.
+     * 
+     * @param setup The setup reference.
+     * @param defaultForce The force returned if setup does not define one.
+     * @return The force direction.
+     * @throws LionEngineException If invalid force.
+     */
+    public static Direction getForce(Setup setup, Direction defaultForce)
+    {
+        final Optional<Direction> force = get(setup, ForceConfig.class, s ->
+        {
+            if (s.hasNode(ForceConfig.NODE_FORCE))
+            {
+                final Force imported = ForceConfig.imports(s);
+                return Optional.of(new FixedDirection(imported.getDirectionHorizontal(),
+                                                      imported.getDirectionVertical()));
+            }
+            return Optional.empty();
+        }, ForceConfig.NODE_FORCE);
+        return force.orElse(defaultForce);
+    }
+
+    /**
+     * Get a setup node text.
+     * 
+     * @param setup The setup reference.
+     * @param path The node path.
+     * @return The node text, empty if node not defined.
+     * @throws LionEngineException If unable to read node.
+     */
+    public static Optional<String> getText(Setup setup, String... path)
+    {
+        return get(setup, String.class, s ->
+        {
+            if (s.hasNode(path))
+            {
+                return Optional.of(s.getText(path));
+            }
+            return Optional.empty();
+        }, path);
+    }
+
+    /**
+     * Get a setup integer attribute.
+     * 
+     * @param setup The setup reference.
+     * @param attribute The attribute name.
+     * @param path The node path.
+     * @return The attribute value.
+     * @throws LionEngineException If attribute not defined.
+     */
+    public static int getInteger(Setup setup, String attribute, String... path)
+    {
+        final Integer value = get(setup,
+                                  new Key(Integer.class, path, attribute),
+                                  s -> Integer.valueOf(s.getInteger(attribute, path)));
+        return value.intValue();
+    }
+
+    /**
+     * Get a setup integer attribute.
+     * 
+     * @param setup The setup reference.
+     * @param defaultValue The value returned if attribute not defined.
+     * @param attribute The attribute name.
+     * @param path The node path.
+     * @return The attribute value.
+     * @throws LionEngineException If invalid attribute.
+     */
+    public static int getInteger(Setup setup, int defaultValue, String attribute, String... path)
+    {
+        final Integer value = get(setup,
+                                  new Key(Integer.class, path, attribute, Integer.valueOf(defaultValue)),
+                                  s -> Integer.valueOf(s.getInteger(defaultValue, attribute, path)));
+        return value.intValue();
+    }
+
+    /**
+     * Release all cached values.
+     */
+    public static void clear()
+    {
+        CACHE.clear();
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ConfigCache()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Cached value key, by importing type and node path, with optional extra parts (attribute, default value).
+     */
+    private static final class Key
+    {
+        private final Class<?> owner;
+        private final Object[] parts;
+
+        /**
+         * Create key.
+         * 
+         * @param owner The importing type.
+         * @param path The node path.
+         * @param extra The extra parts.
+         */
+        Key(Class<?> owner, String[] path, Object... extra)
+        {
+            super();
+
+            this.owner = owner;
+            parts = Arrays.copyOf(path, path.length + extra.length, Object[].class);
+            System.arraycopy(extra, 0, parts, path.length, extra.length);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return owner.hashCode() * 31 + Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (object == null || object.getClass() != getClass())
+            {
+                return false;
+            }
+            final Key other = (Key) object;
+            return owner == other.owner && Arrays.equals(parts, other.parts);
+        }
+    }
+
+    /**
+     * Immutable direction.
+     */
+    private static final class FixedDirection implements Direction
+    {
+        private final double horizontal;
+        private final double vertical;
+
+        /**
+         * Create direction.
+         * 
+         * @param horizontal The horizontal direction.
+         * @param vertical The vertical direction.
+         */
+        FixedDirection(double horizontal, double vertical)
+        {
+            super();
+
+            this.horizontal = horizontal;
+            this.vertical = vertical;
+        }
+
+        @Override
+        public double getDirectionHorizontal()
+        {
+            return horizontal;
+        }
+
+        @Override
+        public double getDirectionVertical()
+        {
+            return vertical;
+        }
+    }
+}
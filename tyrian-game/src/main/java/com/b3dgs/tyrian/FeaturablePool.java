@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.Feature;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Recyclable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+
+/**
+ * Featurable pool by media. Instances are created once by the {@link Factory}, then returned to their pool when the
+ * {@link Handler} removes them (after an {@link com.b3dgs.lionengine.game.feature.Identifiable#destroy()}), and
+ * recycled on next {@link #acquire(Media)}. A media pool can be bounded with {@link #setLimit(Media, int)}, instances
+ * removed while the pool is full are left to the garbage collector. An instance is pooled at most once, even if removed
+ * again before being acquired.
+ * <p>
+ * The limit also caps the alive instances (acquired and not yet removed) for callers checking
+ * {@link #hasRoom(Media)} before acquiring, such as effects. Bounded medias are also served by the
+ * {@link PooledFactory}.
+ * </p>
+ * <p>
+ * Hits and misses are counted by media, next to the media pool.
+ * </p>
+ */
+public final class FeaturablePool implements HandlerListener
+{
+    /** Pool node name. */
+    public static final String NODE_POOL = "pool";
+    /** Pool maximum size attribute name. */
+    public static final String ATT_MAX = "max";
+
+    private final java.util.Map<Media, Deque<Featurable>> pools = new HashMap<>();
+    private final java.util.Map<Featurable, Media> owners = new IdentityHashMap<>();
+    private final Set<Featurable> pooled = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final java.util.Map<Media, Integer> limits = new HashMap<>();
+    private final java.util.Map<Media, int[]> alive = new HashMap<>();
+    private final java.util.Map<Media, long[]> hits = new HashMap<>();
+    private final java.util.Map<Media, long[]> misses = new HashMap<>();
+    private final Factory factory;
+
+    /**
+     * Create pool, listening to the handler removals.
+     * 
+     * @param services The services reference.
+     * @throws LionEngineException If missing services.
+     */
+    public FeaturablePool(Services services)
+    {
+        super();
+
+        factory = services.get(Factory.class);
+        services.get(Handler.class).addListener(this);
+    }
+
+    /**
+     * Set the maximum number of pooled instances for a media.
+     * 
+     * @param media The featurable media.
+     * @param limit The maximum pool size (must be strictly positive).
+     * @throws LionEngineException If invalid limit.
+     */
+    public void setLimit(Media media, int limit)
+    {
+        Check.superiorStrict(limit, 0);
+
+        limits.put(media, Integer.valueOf(limit));
+    }
+
+    /**
+     * Check if media pool is bounded.
+     * 
+     * @param media The featurable media.
+     * @return <code>true</code> if a limit is set for media, <code>false</code> else.
+     */
+    public boolean isBounded(Media media)
+    {
+        return limits.containsKey(media);
+    }
+
+    /**
+     * Set the maximum number of pooled instances for the setup media, read from its {@link #NODE_POOL} node.
+     * 
+     * @param setup The featurable setup.
+     * @param defaultLimit The limit used if setup does not define one (must be strictly positive).
+     * @throws LionEngineException If invalid limit.
+     */
+    public void setLimit(Setup setup, int defaultLimit)
+    {
+        setLimit(setup.getMedia(), setup.getInteger(defaultLimit, ATT_MAX, NODE_POOL));
+    }
+
+    /**
+     * Create instances in advance, up to the pool limit if any.
+     * 
+     * @param media The featurable media.
+     * @param count The number of instances to have available.
+     */
+    public void prewarm(Media media, int count)
+    {
+        final Deque<Featurable> pool = getPool(media);
+        final int max = Math.min(count, getLimit(media));
+        for (int i = pool.size(); i < max; i++)
+        {
+            final Featurable featurable = create(media);
+            pooled.add(featurable);
+            pool.push(featurable);
+        }
+    }
+
+    /**
+     * Get a recycled instance, or create a new one if pool is empty. Instance must be added to the {@link Handler}.
+     * 
+     * @param <T> The featurable type.
+     * @param media The featurable media.
+     * @return The featurable instance.
+     * @throws LionEngineException If unable to create instance.
+     */
+    public <T extends Featurable> T acquire(Media media)
+    {
+        final Deque<Featurable> pool = getPool(media);
+        final Featurable featurable;
+        if (pool.isEmpty())
+        {
+            getCounter(misses, media)[0]++;
+            featurable = create(media);
+        }
+        else
+        {
+            getCounter(hits, media)[0]++;
+            featurable = pool.pop();
+            pooled.remove(featurable);
+            recycle(featurable);
+        }
+        getAliveCounter(media)[0]++;
+        @SuppressWarnings("unchecked")
+        final T casted = (T) featurable;
+        return casted;
+    }
+
+    /**
+     * Get the number of available instances.
+     * 
+     * @param media The featurable media.
+     * @return The available instances.
+     */
+    public int getAvailable(Media media)
+    {
+        final Deque<Featurable> pool = pools.get(media);
+        if (pool == null)
+        {
+            return 0;
+        }
+        return pool.size();
+    }
+
+    /**
+     * Get the number of alive instances, acquired and not yet removed from the {@link Handler}.
+     * 
+     * @param media The featurable media.
+     * @return The alive instances.
+     */
+    public int getAlive(Media media)
+    {
+        return getAliveCounter(media)[0];
+    }
+
+    /**
+     * Check if alive instances are below the media limit.
+     * 
+     * @param media The featurable media.
+     * @return <code>true</code> if an instance can be acquired within limit, <code>false</code> else.
+     */
+    public boolean hasRoom(Media media)
+    {
+        return getAlive(media) < getLimit(media);
+    }
+
+    /**
+     * Get the number of acquisitions served by a pooled instance.
+     * 
+     * @param media The featurable media.
+     * @return The media pool hits.
+     */
+    public long getHits(Media media)
+    {
+        return getCounter(hits, media)[0];
+    }
+
+    /**
+     * Get the number of acquisitions that required a new instance.
+     * 
+     * @param media The featurable media.
+     * @return The media pool misses.
+     */
+    public long getMisses(Media media)
+    {
+        return getCounter(misses, media)[0];
+    }
+
+    /**
+     * Release all pooled instances and reset metrics.
+     */
+    public void clear()
+    {
+        pools.clear();
+        owners.clear();
+        pooled.clear();
+        alive.clear();
+        hits.clear();
+        misses.clear();
+    }
+
+    /**
+     * Get the pool limit.
+     * 
+     * @param media The featurable media.
+     * @return The pool limit, {@link Integer#MAX_VALUE} if unbounded.
+     */
+    private int getLimit(Media media)
+    {
+        final Integer limit = limits.get(media);
+        if (limit == null)
+        {
+            return Integer.MAX_VALUE;
+        }
+        return limit.intValue();
+    }
+
+    /**
+     * Create a new instance owned by pool, bypassing the {@link PooledFactory} lookup.
+     * 
+     * @param media The featurable media.
+     * @return The created instance.
+     */
+    private Featurable create(Media media)
+    {
+        final Featurable featurable;
+        if (factory instanceof PooledFactory)
+        {
+            featurable = ((PooledFactory) factory).createNew(media);
+        }
+        else
+        {
+            featurable = factory.create(media);
+        }
+        owners.put(featurable, media);
+        return featurable;
+    }
+
+    /**
+     * Get media metric counter, created if missing.
+     * 
+     * @param counters The metric counters.
+     * @param media The featurable media.
+     * @return The counter.
+     */
+    private static long[] getCounter(java.util.Map<Media, long[]> counters, Media media)
+    {
+        return counters.computeIfAbsent(media, m -> new long[1]);
+    }
+
+    /**
+     * Get media alive counter, created if missing.
+     * 
+     * @param media The featurable media.
+     * @return The alive counter.
+     */
+    private int[] getAliveCounter(Media media)
+    {
+        return alive.computeIfAbsent(media, m -> new int[1]);
+    }
+
+    /**
+     * Get media pool, created if missing.
+     * 
+     * @param media The featurable media.
+     * @return The pool.
+     */
+    private Deque<Featurable> getPool(Media media)
+    {
+        return pools.computeIfAbsent(media, m -> new ArrayDeque<>());
+    }
+
+    /**
+     * Recycle all recyclable features.
+     * 
+     * @param featurable The featurable to recycle.
+     */
+    private static void recycle(Featurable featurable)
+    {
+        for (final Feature feature : featurable.getFeatures())
+        {
+            if (feature instanceof Recyclable)
+            {
+                ((Recyclable) feature).recycle();
+            }
+        }
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        // Nothing to do
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        final Media media = owners.get(featurable);
+        if (media != null)
+        {
+            final int[] counter = getAliveCounter(media);
+            if (!pooled.contains(featurable) && counter[0] > 0)
+            {
+                counter[0]--;
+            }
+            final Deque<Featurable> pool = getPool(media);
+            if (pool.size() < getLimit(media))
+            {
+                if (pooled.add(featurable))
+                {
+                    pool.push(featurable);
+                }
+            }
+            else if (!pooled.contains(featurable))
+            {
+                owners.remove(featurable);
+            }
+        }
+    }
+}
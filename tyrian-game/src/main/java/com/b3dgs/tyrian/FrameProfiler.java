@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.Arrays;
+
+/**
+ * Frame time instrumentation by stage. Stages are chained: {@link #start()} marks the frame part beginning, then each
+ * {@link #stop(Stage)} records the time elapsed since the previous mark, so a stage costs a single
+ * {@link System#nanoTime()} call. The last {@link #SAMPLES} durations of each stage are kept in a ring buffer. Late
+ * time dropped by the fixed step is counted apart.
+ * <p>
+ * Summaries may be read from another thread (JMX), they are then computed on an approximate snapshot.
+ * </p>
+ */
+public final class FrameProfiler
+{
+    /** Samples kept by stage. */
+    public static final int SAMPLES = 256;
+    /** Percentiles summarized. */
+    private static final double[] PERCENTILES =
+    {
+        0.50, 0.95, 0.99
+    };
+
+    /**
+     * Frame stages.
+     */
+    public enum Stage
+    {
+        /** Input devices sampling, once per frame. */
+        CURSOR,
+        /** Background update. */
+        BACKGROUND,
+        /** Map streaming and scenery wake up. */
+        MAP,
+        /** Spawn tick and spawn. */
+        SPAWN,
+        /** Parallel entities update, with deferred commands. */
+        PARALLEL,
+        /** Handler update (features and components). */
+        HANDLER,
+        /** HUD update. */
+        HUD,
+        /** Background rendering. */
+        RENDER_BACKGROUND,
+        /** Handler rendering. */
+        RENDER_HANDLER,
+        /** HUD rendering. */
+        RENDER_HUD;
+    }
+
+    private final long[][] samples = new long[Stage.values().length][SAMPLES];
+    private final long[] counts = new long[Stage.values().length];
+    private long mark;
+    private double dropped;
+    private long drops;
+
+    /**
+     * Create profiler.
+     */
+    public FrameProfiler()
+    {
+        super();
+    }
+
+    /**
+     * Mark the beginning of a frame part.
+     */
+    public void start()
+    {
+        mark = System.nanoTime();
+    }
+
+    /**
+     * Record the time elapsed since last mark for the stage, and mark the beginning of next stage.
+     * 
+     * @param stage The stage ended.
+     */
+    public void stop(Stage stage)
+    {
+        final long now = System.nanoTime();
+        final int index = stage.ordinal();
+        samples[index][(int) (counts[index] % SAMPLES)] = now - mark;
+        counts[index]++;
+        mark = now;
+    }
+
+    /**
+     * Count late time dropped by an update.
+     * 
+     * @param extrp The dropped time, in extrapolation unit.
+     */
+    public void drop(double extrp)
+    {
+        dropped += extrp;
+        drops++;
+    }
+
+    /**
+     * Get the total late time dropped since creation.
+     * 
+     * @return The dropped time, in extrapolation unit.
+     */
+    public double getDropped()
+    {
+        return dropped;
+    }
+
+    /**
+     * Get the number of updates which dropped late time since creation.
+     * 
+     * @return The updates with dropped time.
+     */
+    public long getDrops()
+    {
+        return drops;
+    }
+
+    /**
+     * Get the stage duration percentiles on kept samples.
+     * 
+     * @param stage The stage.
+     * @return The p50, p95 and p99 durations in nanoseconds, <code>0</code> if no sample.
+     */
+    public long[] getSummary(Stage stage)
+    {
+        final int index = stage.ordinal();
+        final int count = (int) Math.min(counts[index], SAMPLES);
+        final long[] summary = new long[PERCENTILES.length];
+        if (count > 0)
+        {
+            final long[] sorted = Arrays.copyOf(samples[index], count);
+            Arrays.sort(sorted);
+            for (int i = 0; i < PERCENTILES.length; i++)
+            {
+                summary[i] = sorted[(int) Math.ceil(PERCENTILES[i] * count) - 1];
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Get the number of recorded samples since creation.
+     * 
+     * @param stage The stage.
+     * @return The recorded samples.
+     */
+    public long getCount(Stage stage)
+    {
+        return counts[stage.ordinal()];
+    }
+}
@@ -16,27 +16,50 @@
  */
 package com.b3dgs.tyrian;
 
+import java.util.Arrays;
+
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Updatable;
 import com.b3dgs.lionengine.game.Bar;
-import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.Services;
-import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.Renderable;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.Sprite;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
 import com.b3dgs.tyrian.entity.ShipModel;
 
 /**
- * HUD representation.
+ * HUD representation. Bars and sprite are rendered in a cached buffer, only when a displayed value changed, and this
+ * buffer is drawn each frame. Bars location is relative to the HUD top.
  */
 public class Hud implements Updatable, Renderable
 {
     private static final Media SPRITE = Medias.create(Constant.FOLDER_SPRITE, "hud.png");
     private static final ColorRgba BROWN = new ColorRgba(90, 45, 0);
+    private static final int SHIELD = 0;
+    private static final int ARMOR = 1;
+    private static final int ENERGY = 2;
+    private static final int LEVEL_FRONT = 3;
+    private static final int LEVEL_REAR = 4;
+    private static final int PROGRESS = 5;
+    private static final int VALUES = 6;
+
+    /**
+     * Get the hud surface height, without creating the hud.
+     * 
+     * @return The surface height.
+     */
+    public static int getSurfaceHeight()
+    {
+        final Sprite sprite = Drawable.loadSprite(SPRITE);
+        sprite.load();
+        return sprite.getHeight();
+    }
 
     private static Bar createBar(int width, int height, int x, int y, ColorRgba color)
     {
@@ -53,16 +76,19 @@ public class Hud implements Updatable, Renderable
         return bar;
     }
 
-    private final Bar shield = createBar(60, 9, 12, 334, ColorRgba.BLUE);
-    private final Bar armor = createBar(60, 9, 12, 371, BROWN);
-    private final Bar energy = createBar(96, 11, 108, 332, ColorRgba.RED, ColorRgba.YELLOW);
-    private final Bar levelFront = createBar(4, 12, 198, 348, ColorRgba.YELLOW, ColorRgba.RED);
-    private final Bar levelRear = createBar(4, 12, 198, 364, ColorRgba.YELLOW, ColorRgba.RED);
-    private final Bar progress = createBar(12, 49, 81, 331, ColorRgba.GREEN, ColorRgba.RED);
+    private final Bar shield = createBar(60, 9, 12, 7, ColorRgba.BLUE);
+    private final Bar armor = createBar(60, 9, 12, 44, BROWN);
+    private final Bar energy = createBar(96, 11, 108, 5, ColorRgba.RED, ColorRgba.YELLOW);
+    private final Bar levelFront = createBar(4, 12, 198, 21, ColorRgba.YELLOW, ColorRgba.RED);
+    private final Bar levelRear = createBar(4, 12, 198, 37, ColorRgba.YELLOW, ColorRgba.RED);
+    private final Bar progress = createBar(12, 49, 81, 4, ColorRgba.GREEN, ColorRgba.RED);
     private final Sprite surface = Drawable.loadSprite(SPRITE);
+    private final int[] values = new int[VALUES];
+    private final int[] rendered = new int[VALUES];
+    private final ImageBuffer cache;
+    private final int y;
     private final ShipModel ship;
-    private final Camera camera;
-    private final MapTile map;
+    private final MapStreamer streamer;
 
     /**
      * Create hud.
@@ -73,13 +99,15 @@ public class Hud implements Updatable, Renderable
     {
         super();
 
-        camera = services.get(Camera.class);
-        map = services.get(MapTile.class);
+        streamer = services.get(MapStreamer.class);
         ship = services.get(ShipModel.class);
 
         surface.load();
         surface.prepare();
-        surface.setLocation(0.0, camera.getHeight() - (double) surface.getHeight());
+        y = services.get(SourceResolutionProvider.class).getHeight() - surface.getHeight();
+
+        cache = Graphics.createImageBuffer(surface.getWidth(), surface.getHeight(), ColorRgba.TRANSPARENT);
+        Arrays.fill(rendered, -1);
     }
 
     /**
@@ -112,22 +140,38 @@ public class Hud implements Updatable, Renderable
         return (int) Math.max(1, Math.floor(ship.getRear().getLevel() * 100.0 / Constant.WEAPON_LEVEL_MAX));
     }
 
-    @Override
-    public void update(double extrp)
+    /**
+     * Check if a displayed value changed since last cache rendering.
+     * 
+     * @return <code>true</code> if changed, <code>false</code> else.
+     */
+    private boolean hasChanged()
     {
-        shield.setWidthPercent(ship.getShield().getPercent());
-        armor.setWidthPercent(ship.getArmor().getPercent());
-        energy.setWidthPercent(ship.getEnergy().getPercent());
-
-        levelFront.setHeightPercent(getLevelPercentFront());
-        levelRear.setHeightPercent(getLevelPercentRear());
-
-        progress.setHeightPercent((int) Math.floor((camera.getY() + camera.getHeight()) * 100.0 / map.getHeight()));
+        for (int i = 0; i < VALUES; i++)
+        {
+            if (values[i] != rendered[i])
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
-    @Override
-    public void render(Graphic g)
+    /**
+     * Render bars and sprite to cache.
+     */
+    private void renderCache()
     {
+        shield.setWidthPercent(values[SHIELD]);
+        armor.setWidthPercent(values[ARMOR]);
+        energy.setWidthPercent(values[ENERGY]);
+        levelFront.setHeightPercent(values[LEVEL_FRONT]);
+        levelRear.setHeightPercent(values[LEVEL_REAR]);
+        progress.setHeightPercent(values[PROGRESS]);
+
+        final Graphic g = cache.createGraphic();
+        g.clear(0, 0, cache.getWidth(), cache.getHeight());
+
         shield.render(g);
         armor.render(g);
         energy.render(g);
@@ -138,5 +182,30 @@ public class Hud implements Updatable, Renderable
         levelRear.render(g);
 
         progress.render(g);
+        g.dispose();
+
+        System.arraycopy(values, 0, rendered, 0, VALUES);
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        values[SHIELD] = ship.getShield().getPercent();
+        values[ARMOR] = ship.getArmor().getPercent();
+        values[ENERGY] = ship.getEnergy().getPercent();
+        values[LEVEL_FRONT] = getLevelPercentFront();
+        values[LEVEL_REAR] = getLevelPercentRear();
+        values[PROGRESS] = streamer.getProgress();
+
+        if (hasChanged())
+        {
+            renderCache();
+        }
+    }
+
+    @Override
+    public void render(Graphic g)
+    {
+        g.drawImage(cache, 0, y);
     }
 }
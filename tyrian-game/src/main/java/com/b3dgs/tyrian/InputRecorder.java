@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+
+/**
+ * Ship input recorder, one record per tick, read back by {@link InputReplay}.
+ * <p>
+ * File starts with {@link #MAGIC} and the world random seed, followed by {@link #TICK_BYTES} per tick: horizontal and
+ * vertical cursor delta as double, and input flags as byte. Deltas are kept at full precision, so a replay moves the
+ * ship exactly as recorded. Stream is flushed every {@link #FLUSH_TICKS}, so an interrupted session loses at most one
+ * second of input.
+ * </p>
+ */
+public final class InputRecorder implements Closeable
+{
+    /** File magic number. */
+    public static final int MAGIC = 0x54595250;
+    /** Tick record size in bytes. */
+    public static final int TICK_BYTES = Double.BYTES * 2 + Byte.BYTES;
+    /** Fire flag. */
+    public static final int FLAG_FIRE = 1;
+    /** Ticks between flushes. */
+    private static final int FLUSH_TICKS = 60;
+
+    private final DataOutputStream output;
+    private int ticks;
+    private boolean closed;
+
+    /**
+     * Create recorder, and write header.
+     * 
+     * @param media The output file.
+     * @param seed The world random seed.
+     * @throws IOException If unable to write.
+     */
+    public InputRecorder(Media media, long seed) throws IOException
+    {
+        super();
+
+        output = new DataOutputStream(new BufferedOutputStream(media.getOutputStream()));
+        output.writeInt(MAGIC);
+        output.writeLong(seed);
+    }
+
+    /**
+     * Record tick input.
+     * 
+     * @param dx The horizontal delta.
+     * @param dy The vertical delta.
+     * @param fire <code>true</code> if fired, <code>false</code> else.
+     * @throws LionEngineException If unable to write.
+     */
+    public void record(double dx, double dy, boolean fire)
+    {
+        if (closed)
+        {
+            return;
+        }
+        try
+        {
+            output.writeDouble(dx);
+            output.writeDouble(dy);
+            output.writeByte(fire ? FLAG_FIRE : 0);
+            ticks++;
+            if (ticks % FLUSH_TICKS == 0)
+            {
+                output.flush();
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Get the number of recorded ticks.
+     * 
+     * @return The recorded ticks.
+     */
+    public int getTicks()
+    {
+        return ticks;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (!closed)
+        {
+            closed = true;
+            output.close();
+        }
+    }
+}
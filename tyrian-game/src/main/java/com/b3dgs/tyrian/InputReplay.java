@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.b3dgs.lionengine.Media;
+
+/**
+ * Ship input replay, read from an {@link InputRecorder} file. Whole stream is loaded in primitive arrays, then
+ * consumed one tick at a time with {@link #next()}.
+ */
+public final class InputReplay
+{
+    /**
+     * Read a replay.
+     * 
+     * @param media The replay file.
+     * @return The read replay.
+     * @throws IOException If error or invalid file.
+     */
+    public static InputReplay read(Media media) throws IOException
+    {
+        final ByteBuffer buffer;
+        try (InputStream input = media.getInputStream())
+        {
+            buffer = ByteBuffer.wrap(input.readAllBytes());
+        }
+        if (buffer.remaining() < Integer.BYTES + Long.BYTES || buffer.getInt() != InputRecorder.MAGIC)
+        {
+            throw new IOException("Invalid replay: " + media.getPath());
+        }
+        final long seed = buffer.getLong();
+        final int ticks = buffer.remaining() / InputRecorder.TICK_BYTES;
+        final double[] dx = new double[ticks];
+        final double[] dy = new double[ticks];
+        final byte[] flags = new byte[ticks];
+        for (int i = 0; i < ticks; i++)
+        {
+            dx[i] = buffer.getDouble();
+            dy[i] = buffer.getDouble();
+            flags[i] = buffer.get();
+        }
+        return new InputReplay(seed, dx, dy, flags);
+    }
+
+    private final long seed;
+    private final double[] dx;
+    private final double[] dy;
+    private final byte[] flags;
+    private int tick = -1;
+
+    /**
+     * Create replay.
+     * 
+     * @param seed The world random seed.
+     * @param dx The horizontal deltas.
+     * @param dy The vertical deltas.
+     * @param flags The input flags.
+     */
+    private InputReplay(long seed, double[] dx, double[] dy, byte[] flags)
+    {
+        super();
+
+        this.seed = seed;
+        this.dx = dx;
+        this.dy = dy;
+        this.flags = flags;
+    }
+
+    /**
+     * Move to next tick.
+     * 
+     * @return <code>true</code> if tick available, <code>false</code> if replay ended.
+     */
+    public boolean next()
+    {
+        if (tick < dx.length)
+        {
+            tick++;
+        }
+        return tick < dx.length;
+    }
+
+    /**
+     * Get the current tick horizontal delta.
+     * 
+     * @return The horizontal delta.
+     */
+    public double getDx()
+    {
+        return dx[tick];
+    }
+
+    /**
+     * Get the current tick vertical delta.
+     * 
+     * @return The vertical delta.
+     */
+    public double getDy()
+    {
+        return dy[tick];
+    }
+
+    /**
+     * Check if fired on current tick.
+     * 
+     * @return <code>true</code> if fired, <code>false</code> else.
+     */
+    public boolean isFire()
+    {
+        return (flags[tick] & InputRecorder.FLAG_FIRE) != 0;
+    }
+
+    /**
+     * Get the world random seed used when recording.
+     * 
+     * @return The seed value.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Get the number of recorded ticks.
+     * 
+     * @return The recorded ticks.
+     */
+    public int getTicks()
+    {
+        return dx.length;
+    }
+}
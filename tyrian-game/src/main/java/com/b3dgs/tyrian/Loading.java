@@ -16,9 +16,13 @@
  */
 package com.b3dgs.tyrian;
 
+import java.util.Optional;
+
 import com.b3dgs.lionengine.Align;
 import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.Image;
@@ -26,12 +30,20 @@ import com.b3dgs.lionengine.graphic.drawable.SpriteFont;
 import com.b3dgs.lionengine.graphic.engine.Sequence;
 
 /**
- * Loading screen.
+ * Loading screen. Drives the {@link Preloader} graph (audio, map chunks and atlas are loaded in parallel in
+ * background), shows its progress, and starts the {@link Scene} once completed.
  */
 public final class Loading extends Sequence
 {
     private static final String TEXT_LOADING = "Loading... ";
     private static final int LOADING_OFFSET_Y = 50;
+    private static final int BAR_OFFSET_Y = 64;
+    private static final int BAR_WIDTH = 160;
+    private static final int BAR_HEIGHT = 4;
+    private static final String TASK_SFX = "sfx";
+    private static final String TASK_MUSIC = "music";
+    private static final String TASK_CHUNKS = "chunks";
+    private static final String TASK_ATLAS = "atlas";
 
     private final Image background = Drawable.loadImage(Medias.create(Constant.FOLDER_PIC, "loading.png"));
     private final SpriteFont font = Drawable.loadSpriteFont(Medias.create(Constant.FOLDER_FONT, "font.png"),
@@ -39,7 +51,13 @@ public final class Loading extends Sequence
                                                             8,
                                                             9);
 
-    private boolean loaded;
+    private final Preloader preloader = new Preloader();
+    private final FrameProfiler profiler;
+    private final Optional<Media> record;
+    private volatile Atlas atlas;
+    private int barX;
+    private int barY;
+    private int progress;
 
     /**
      * Constructor.
@@ -47,9 +65,35 @@ public final class Loading extends Sequence
      * @param context The context reference.
      */
     public Loading(Context context)
+    {
+        this(context, new FrameProfiler());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param context The context reference.
+     * @param profiler The frame profiler passed to {@link Scene}.
+     */
+    public Loading(Context context, FrameProfiler profiler)
+    {
+        this(context, profiler, Optional.empty());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param context The context reference.
+     * @param profiler The frame profiler passed to {@link Scene}.
+     * @param record The input record file passed to {@link Scene}, empty to not record.
+     */
+    public Loading(Context context, FrameProfiler profiler, Optional<Media> record)
     {
         super(context, Constant.NATIVE);
 
+        this.profiler = profiler;
+        this.record = record;
+
         setSystemCursorVisible(false);
     }
 
@@ -65,16 +109,25 @@ public final class Loading extends Sequence
         font.setText(TEXT_LOADING);
         font.setAlign(Align.CENTER);
         font.setLocation(getWidth() / 2, getHeight() / 2 + LOADING_OFFSET_Y);
+
+        barX = (getWidth() - BAR_WIDTH) / 2;
+        barY = getHeight() / 2 + BAR_OFFSET_Y;
+
+        preloader.add(TASK_SFX, Sfx::load)
+                 .add(TASK_MUSIC, Music::values)
+                 .add(TASK_CHUNKS, () -> Map.preload(World.THEME))
+                 .add(TASK_ATLAS, () -> atlas = Atlas.load())
+                 .start();
     }
 
     @Override
     public void update(double extrp)
     {
-        if (loaded)
+        progress = (int) Math.round(preloader.getProgress() * BAR_WIDTH);
+        if (preloader.isDone())
         {
-            end(Scene.class);
+            end(Scene.class, atlas, profiler, record);
         }
-        loaded = true;
     }
 
     @Override
@@ -82,6 +135,10 @@ public final class Loading extends Sequence
     {
         background.render(g);
         font.render(g);
+
+        g.setColor(ColorRgba.WHITE);
+        g.drawRect(barX - 1, barY - 1, BAR_WIDTH + 1, BAR_HEIGHT + 1, false);
+        g.drawRect(barX, barY, progress, BAR_HEIGHT, true);
     }
 
     @Override
@@ -16,65 +16,81 @@
  */
 package com.b3dgs.tyrian;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.function.DoubleConsumer;
 
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
-import com.b3dgs.lionengine.UtilRandom;
 import com.b3dgs.lionengine.Xml;
 import com.b3dgs.lionengine.XmlReader;
+import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.Factory;
 import com.b3dgs.lionengine.game.feature.Featurable;
-import com.b3dgs.lionengine.game.feature.Handler;
-import com.b3dgs.lionengine.game.feature.HandlerPersister;
 import com.b3dgs.lionengine.game.feature.LayerableModel;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.tile.TileConfig;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
-import com.b3dgs.lionengine.game.feature.tile.map.MapTileAppender;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
 import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
 import com.b3dgs.lionengine.game.feature.tile.map.TileSheetsConfig;
-import com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersister;
-import com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersisterModel;
-import com.b3dgs.lionengine.io.FileReading;
-import com.b3dgs.lionengine.io.FileWriting;
 
 /**
  * Map game representation.
  */
 public final class Map
 {
+    /** Default level length, in chunks. */
+    public static final int LEVELS = 14;
+    /** Endless level length. */
+    public static final int ENDLESS = Integer.MAX_VALUE;
     private static final String FILE_ENTITIES_TABLE = "entity.xml";
-    private static final int MAX_LEVELS = 14;
-    private static final int MAX_LEVEL_INTERVAL_HEIGHT_IN_TILE = 6;
-    /** Logger. */
-    private static final Logger LOGGER = LoggerFactory.getLogger(Map.class);
+    /** Last chunk file index of a theme (inclusive). */
+    private static final int LAST_CHUNK = 14;
+
+    /**
+     * Load theme chunks in advance, so generation does not read them.
+     * 
+     * @param theme The theme name.
+     * @throws LionEngineException If unable to read a chunk.
+     */
+    public static void preload(String theme)
+    {
+        ChunkLoader.get(theme, LAST_CHUNK);
+    }
 
     /**
-     * Generate a map.
+     * Generate a map. The map is only sized here, chunks are picked and set by the returned streamer as the camera
+     * scrolls, and dropped once far below it. Camera view must be set.
      * 
      * @param services The services reference.
      * @param theme The theme name.
+     * @param levels The level length in chunks, {@link #ENDLESS} for no limit.
+     * @param shifter The world shifter, called with the height to move everything down, in pixel.
+     * @return The map streamer, to be updated each frame.
      */
-    public static void generate(Services services, String theme)
+    public static MapStreamer generate(Services services, String theme, int levels, DoubleConsumer shifter)
     {
-        for (int i = 0; i <= 20; i++)
+        final List<MapChunk> chunks = ChunkLoader.get(theme, LAST_CHUNK);
+        final Camera camera = services.get(Camera.class);
+
+        int widthInTile = 0;
+        int heightInTile = 0;
+        for (final MapChunk chunk : chunks)
         {
-            // importLevelAndSave(Medias.create(Constant.FOLDER_LEVELS, "level1", String.valueOf(i) + ".png"));
+            widthInTile = Math.max(widthInTile, chunk.getInTileWidth());
+            heightInTile = Math.max(heightInTile, chunk.getInTileHeight());
         }
 
+        final MapChunk first = chunks.get(0);
+        final int viewInTile = camera.getHeight() / first.getTileHeight() + 1;
         final MapTileGame map = services.get(MapTileGame.class);
-        final MapTileAppender appender = map.getFeature(MapTileAppender.class);
+        map.create(first.getTileWidth(),
+                   first.getTileHeight(),
+                   widthInTile,
+                   MapStreamer.getRingHeight(viewInTile, heightInTile));
         map.addFeature(new LayerableModel(Constant.LAYER_MAP.intValue()));
         map.loadSheets(Medias.create(Constant.FOLDER_TILE, theme, TileSheetsConfig.FILENAME));
 
@@ -82,47 +98,8 @@ public final class Map
         final TileSetListener listener = createListener(entities, map, services);
         map.addListener(listener);
 
-        final List<MapTile> maps = getMaps(theme, MAX_LEVELS);
-
-        final Collection<MapTile> levels = new ArrayList<>();
-        for (int i = 0; i < MAX_LEVELS; i++)
-        {
-            final MapTile current = maps.get(UtilRandom.getRandomInteger(maps.size() - 1));
-            levels.add(current);
-        }
-        appender.append(levels, 0, 1, 0, MAX_LEVEL_INTERVAL_HEIGHT_IN_TILE);
-
-        map.removeListener(listener);
-        entities.clear();
-    }
-
-    /**
-     * Import the level and save it.
-     * 
-     * @param level The level to import.
-     */
-    @SuppressWarnings("unused")
-    private static void importLevelAndSave(Media level)
-    {
-        final Services services = new Services();
-        services.add(new Factory(services));
-        services.add(new Handler(services));
-
-        final MapTileGame map = services.create(MapTileGame.class);
-        final MapTilePersister mapPersister = map.addFeature(new MapTilePersisterModel());
-        final HandlerPersister handlerPersister = new HandlerPersister(services);
-        map.create(level, Medias.create(Constant.FOLDER_TILE, "level1", "sheets.xml"));
-
-        try (FileWriting output = new FileWriting(Medias.create(level.getParentPath(),
-                                                                level.getName().replace(".png", "") + ".map")))
-        {
-            mapPersister.save(output);
-            handlerPersister.save(output);
-        }
-        catch (final IOException exception)
-        {
-            LOGGER.error("importLevelAndSave error", exception);
-        }
+        final Rng rng = services.get(Rng.class).derive(MapStreamer.SEED_SALT);
+        return new MapStreamer(map, camera, chunks, rng, levels, listener, shifter);
     }
 
     /**
@@ -137,8 +114,8 @@ public final class Map
                                                   MapTile map,
                                                   Services services)
     {
-        final Factory factory = services.get(Factory.class);
-        final Handler handler = services.get(Handler.class);
+        final FeaturablePool pool = services.get(FeaturablePool.class);
+        final SceneryCuller culler = services.get(SceneryCuller.class);
 
         return tile ->
         {
@@ -146,45 +123,16 @@ public final class Map
             if (entities.containsKey(tileRef))
             {
                 final Media media = entities.get(tileRef);
-                final Featurable entity = factory.create(media);
+                final Featurable entity = pool.acquire(media);
                 final Transformable transformable = entity.getFeature(Transformable.class);
                 final int x = (int) (tile.getX() + transformable.getWidth() / 2.0);
                 final int y = (int) (tile.getY() + map.getTileHeight() - transformable.getHeight() / 2.0);
                 transformable.teleport(x, y);
-                handler.add(entity);
+                culler.add(entity);
             }
         };
     }
 
-    /**
-     * Get a list of maps.
-     * 
-     * @param theme The theme name.
-     * @param count The file level count.
-     * @return List of maps.
-     */
-    private static List<MapTile> getMaps(String theme, int count)
-    {
-        final List<MapTile> maps = new ArrayList<>();
-        for (int i = 0; i <= count; i++)
-        {
-            final Media level = Medias.create(Constant.FOLDER_LEVELS, theme, i + ".map");
-            final Services services = new Services();
-            final MapTileGame map = services.create(MapTileGame.class);
-            final MapTilePersister persister = map.addFeature(new MapTilePersisterModel());
-            try (FileReading reading = new FileReading(level))
-            {
-                persister.load(reading);
-            }
-            catch (final IOException exception)
-            {
-                LOGGER.error("getMaps error", exception);
-            }
-            maps.add(map);
-        }
-        return maps;
-    }
-
     /**
      * Get entities equivalence from map tile.
      * 
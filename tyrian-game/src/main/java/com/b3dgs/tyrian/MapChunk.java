@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Packed level chunk. Stores the tile number of each cell in a primitive array, row by row, with {@link #EMPTY} for
+ * cells without tile.
+ * <p>
+ * File format (big endian): tile width, tile height, width in tile, height in tile, then one tile number per cell,
+ * all as <code>short</code>. Tile numbers are global to the theme sheets, so the sheet is implied by the number.
+ * </p>
+ */
+public final class MapChunk
+{
+    /** Chunk file extension. */
+    public static final String EXTENSION = ".chunk";
+    /** Empty cell value. */
+    public static final short EMPTY = -1;
+    /** Header size in byte. */
+    private static final int HEADER = 4 * Short.BYTES;
+    /** Read buffer size. */
+    private static final int BUFFER = 1024;
+
+    /**
+     * Read a chunk. The file is memory mapped when available on disk, read from stream else.
+     * 
+     * @param media The chunk file.
+     * @return The read chunk.
+     * @throws IOException If error, truncated file or invalid header.
+     */
+    public static MapChunk read(Media media) throws IOException
+    {
+        final ByteBuffer buffer;
+        final File file = media.getFile();
+        if (file.isFile())
+        {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                buffer = channel.map(MapMode.READ_ONLY, 0L, channel.size());
+            }
+        }
+        else
+        {
+            try (InputStream input = media.getInputStream())
+            {
+                buffer = ByteBuffer.wrap(readAll(input));
+            }
+        }
+
+        if (buffer.remaining() < HEADER)
+        {
+            throw new IOException("Truncated chunk header: " + media.getPath());
+        }
+        final int tileWidth = buffer.getShort();
+        final int tileHeight = buffer.getShort();
+        final int widthInTile = buffer.getShort();
+        final int heightInTile = buffer.getShort();
+        if (tileWidth <= 0 || tileHeight <= 0 || widthInTile <= 0 || heightInTile <= 0)
+        {
+            throw new IOException("Invalid chunk header: " + media.getPath());
+        }
+        final int cells = widthInTile * heightInTile;
+        if (buffer.remaining() < (long) cells * Short.BYTES)
+        {
+            throw new IOException("Truncated chunk: " + media.getPath());
+        }
+        final short[] tiles = new short[cells];
+        buffer.asShortBuffer().get(tiles);
+
+        return new MapChunk(tileWidth, tileHeight, widthInTile, heightInTile, tiles);
+    }
+
+    /**
+     * Create a chunk from an existing map.
+     * 
+     * @param map The map reference.
+     * @return The created chunk.
+     * @throws LionEngineException If tile number cannot be packed.
+     */
+    public static MapChunk from(MapTile map)
+    {
+        final int widthInTile = map.getInTileWidth();
+        final int heightInTile = map.getInTileHeight();
+        final short[] tiles = new short[widthInTile * heightInTile];
+        for (int ty = 0; ty < heightInTile; ty++)
+        {
+            for (int tx = 0; tx < widthInTile; tx++)
+            {
+                final Tile tile = map.getTile(tx, ty);
+                if (tile == null)
+                {
+                    tiles[ty * widthInTile + tx] = EMPTY;
+                }
+                else
+                {
+                    final int number = tile.getKey().intValue();
+                    if (number < 0 || number > Short.MAX_VALUE)
+                    {
+                        throw new LionEngineException("Tile number out of range: " + number);
+                    }
+                    tiles[ty * widthInTile + tx] = (short) number;
+                }
+            }
+        }
+        return new MapChunk(map.getTileWidth(), map.getTileHeight(), widthInTile, heightInTile, tiles);
+    }
+
+    /**
+     * Read the whole stream.
+     * 
+     * @param input The input stream.
+     * @return The read bytes.
+     * @throws IOException If error.
+     */
+    private static byte[] readAll(InputStream input) throws IOException
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(BUFFER);
+        final byte[] buffer = new byte[BUFFER];
+        int read;
+        while ((read = input.read(buffer)) > -1)
+        {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    private final int tileWidth;
+    private final int tileHeight;
+    private final int widthInTile;
+    private final int heightInTile;
+    private final short[] tiles;
+
+    /**
+     * Create chunk.
+     * 
+     * @param tileWidth The tile width.
+     * @param tileHeight The tile height.
+     * @param widthInTile The width in tile.
+     * @param heightInTile The height in tile.
+     * @param tiles The tile numbers, row by row.
+     */
+    private MapChunk(int tileWidth, int tileHeight, int widthInTile, int heightInTile, short[] tiles)
+    {
+        super();
+
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.widthInTile = widthInTile;
+        this.heightInTile = heightInTile;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Set chunk tiles to map at specified location. Map must be large enough, empty cells are skipped.
+     * 
+     * @param map The destination map.
+     * @param offsetX The horizontal destination in tile.
+     * @param offsetY The vertical destination in tile.
+     */
+    public void append(MapTile map, int offsetX, int offsetY)
+    {
+        for (int ty = 0; ty < heightInTile; ty++)
+        {
+            final int row = ty * widthInTile;
+            for (int tx = 0; tx < widthInTile; tx++)
+            {
+                final short number = tiles[row + tx];
+                if (number != EMPTY)
+                {
+                    map.setTile(offsetX + tx, offsetY + ty, number);
+                }
+            }
+        }
+    }
+
+    /**
+     * Save chunk.
+     * 
+     * @param output The output file.
+     * @throws IOException If error.
+     */
+    public void save(FileWriting output) throws IOException
+    {
+        output.writeShort((short) tileWidth);
+        output.writeShort((short) tileHeight);
+        output.writeShort((short) widthInTile);
+        output.writeShort((short) heightInTile);
+        for (final short number : tiles)
+        {
+            output.writeShort(number);
+        }
+    }
+
+    /**
+     * Get the tile width.
+     * 
+     * @return The tile width.
+     */
+    public int getTileWidth()
+    {
+        return tileWidth;
+    }
+
+    /**
+     * Get the tile height.
+     * 
+     * @return The tile height.
+     */
+    public int getTileHeight()
+    {
+        return tileHeight;
+    }
+
+    /**
+     * Get the width in tile.
+     * 
+     * @return The width in tile.
+     */
+    public int getInTileWidth()
+    {
+        return widthInTile;
+    }
+
+    /**
+     * Get the height in tile.
+     * 
+     * @return The height in tile.
+     */
+    public int getInTileHeight()
+    {
+        return heightInTile;
+    }
+
+    /**
+     * Get the tile number at location.
+     * 
+     * @param tx The horizontal location in tile.
+     * @param ty The vertical location in tile.
+     * @return The tile number, {@link #EMPTY} if none.
+     */
+    public short getTile(int tx, int ty)
+    {
+        return tiles[ty * widthInTile + tx];
+    }
+}
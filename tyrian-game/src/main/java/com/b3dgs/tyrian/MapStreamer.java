@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSetListener;
+
+/**
+ * Stream map chunks as the camera scrolls. Chunks are picked one at a time, and set only when the camera top border
+ * gets close to them, so their scenery entities are created at this time instead of during map generation.
+ * <p>
+ * The map is a ring of fixed height, sized from the view and the largest chunk, so level length is not limited by
+ * memory. When the next chunk does not fit anymore, chunks fully below the camera are dropped: the map is created again
+ * (the only way to unset tiles of a {@link MapTile}), kept chunks are set again lower without notifying the listener,
+ * and the world is shifted down by the dropped height through the shifter, so it stays aligned with the map. Scenery
+ * entities left behind are still destroyed by their own update.
+ * </p>
+ */
+public final class MapStreamer implements Updatable
+{
+    /** Random generator salt, chunks are picked on their own sequence. */
+    public static final long SEED_SALT = 0x5EEDC4A7L;
+    /** Chunks are appended when camera top is closer than this margin, in chunk count. */
+    private static final int MARGIN_IN_CHUNK = 1;
+    /** Map height in largest chunk with interval, on top of the view height. */
+    private static final int RING_IN_CHUNK = 5;
+    /** Minimum interval between chunks in tile. */
+    private static final int MIN_INTERVAL_IN_TILE = 1;
+    /** Maximum interval between chunks in tile (excluded). */
+    private static final int MAX_INTERVAL_IN_TILE = 6;
+    /** Percent maximum. */
+    private static final int PERCENT = 100;
+
+    /**
+     * Get the map height needed to stream chunks.
+     * 
+     * @param viewInTile The camera view height in tile.
+     * @param chunkInTile The largest chunk height in tile.
+     * @return The map height in tile.
+     */
+    static int getRingHeight(int viewInTile, int chunkInTile)
+    {
+        return viewInTile + (chunkInTile + MAX_INTERVAL_IN_TILE) * RING_IN_CHUNK;
+    }
+
+    private final Deque<Placed> placed = new ArrayDeque<>();
+    private final MapTile map;
+    private final Camera camera;
+    private final List<MapChunk> chunks;
+    private final Rng rng;
+    private final int levels;
+    private final TileSetListener listener;
+    private final DoubleConsumer shifter;
+    private final int margin;
+    private MapChunk next;
+    private int nextOffset;
+    private int appended;
+
+    /**
+     * Create streamer.
+     * 
+     * @param map The map reference, already created with its ring height.
+     * @param camera The camera reference.
+     * @param chunks The chunks to pick from.
+     * @param rng The random generator used to pick chunks and intervals.
+     * @param levels The number of chunks to stream, {@link Map#ENDLESS} for no limit.
+     * @param listener The listener called on each tile set, removed once all chunks are appended.
+     * @param shifter The world shifter, called with the height to move everything down, in pixel.
+     */
+    MapStreamer(MapTile map,
+                Camera camera,
+                List<MapChunk> chunks,
+                Rng rng,
+                int levels,
+                TileSetListener listener,
+                DoubleConsumer shifter)
+    {
+        super();
+
+        this.map = map;
+        this.camera = camera;
+        this.chunks = chunks;
+        this.rng = rng;
+        this.levels = levels;
+        this.listener = listener;
+        this.shifter = shifter;
+
+        int maxHeight = 0;
+        for (final MapChunk chunk : chunks)
+        {
+            maxHeight = Math.max(maxHeight, chunk.getInTileHeight());
+        }
+        margin = maxHeight * MARGIN_IN_CHUNK * map.getTileHeight();
+        next = pick();
+    }
+
+    /**
+     * Check if all chunks have been appended.
+     * 
+     * @return <code>true</code> if done, <code>false</code> else.
+     */
+    public boolean isDone()
+    {
+        return appended >= levels;
+    }
+
+    /**
+     * Get the appended chunks percent of the level.
+     * 
+     * @return The level progress, always <code>0</code> if endless.
+     */
+    public int getProgress()
+    {
+        if (levels == Map.ENDLESS)
+        {
+            return 0;
+        }
+        return (int) ((long) appended * PERCENT / levels);
+    }
+
+    /**
+     * Pick next chunk.
+     * 
+     * @return The picked chunk.
+     */
+    private MapChunk pick()
+    {
+        return chunks.get(rng.nextInt(chunks.size() - 1));
+    }
+
+    /**
+     * Drop the chunks fully below the camera, set the kept ones lower and shift the world down accordingly.
+     * 
+     * @return The shifted height in pixel.
+     * @throws LionEngineException If nothing can be dropped (map too small for view).
+     */
+    private double recycle()
+    {
+        final int tileHeight = map.getTileHeight();
+        final double bottom = camera.getY() - margin;
+        while (!placed.isEmpty() && placed.peek().getTop() * tileHeight < bottom)
+        {
+            placed.poll();
+        }
+        final int drop = placed.isEmpty() ? nextOffset : placed.peek().offset;
+        if (drop == 0)
+        {
+            throw new LionEngineException("Map too small to stream chunks: " + map.getInTileHeight());
+        }
+
+        map.removeListener(listener);
+        map.create(map.getTileWidth(), tileHeight, map.getInTileWidth(), map.getInTileHeight());
+        for (final Placed current : placed)
+        {
+            current.offset -= drop;
+            current.chunk.append(map, 0, current.offset);
+        }
+        map.addListener(listener);
+        nextOffset -= drop;
+
+        final double dy = drop * (double) tileHeight;
+        shifter.accept(dy);
+        return dy;
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        double top = camera.getY() + camera.getHeight() + margin;
+        while (!isDone() && nextOffset * map.getTileHeight() <= top)
+        {
+            if (nextOffset + next.getInTileHeight() > map.getInTileHeight())
+            {
+                top -= recycle();
+            }
+            next.append(map, 0, nextOffset);
+            placed.add(new Placed(next, nextOffset));
+            appended++;
+            nextOffset += next.getInTileHeight() + MIN_INTERVAL_IN_TILE + rng.nextInt(MAX_INTERVAL_IN_TILE);
+            next = pick();
+            if (isDone())
+            {
+                map.removeListener(listener);
+            }
+        }
+    }
+
+    /**
+     * Chunk set on map.
+     */
+    private static final class Placed
+    {
+        private final MapChunk chunk;
+        private int offset;
+
+        /**
+         * Create placed chunk.
+         * 
+         * @param chunk The chunk reference.
+         * @param offset The vertical location in tile.
+         */
+        Placed(MapChunk chunk, int offset)
+        {
+            super();
+
+            this.chunk = chunk;
+            this.offset = offset;
+        }
+
+        /**
+         * Get the chunk top row.
+         * 
+         * @return The top row in tile (excluded).
+         */
+        int getTop()
+        {
+            return offset + chunk.getInTileHeight();
+        }
+    }
+}
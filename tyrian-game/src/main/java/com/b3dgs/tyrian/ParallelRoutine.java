@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+/**
+ * Feature updated by the {@link ParallelUpdater}, instead of the handler routines. Update may run on any worker
+ * thread, concurrently with other parallel routines: it must only change its own featurable state, and only read
+ * shared state not modified during the parallel phase (camera, viewer, source). Any other effect is deferred to the
+ * command buffer, applied on the game thread once all routines are updated. This includes moves, as they notify the
+ * transformable listeners.
+ */
+public interface ParallelRoutine
+{
+    /**
+     * Update routine.
+     * 
+     * @param extrp The extrapolation value.
+     * @param commands The command buffer of the current worker.
+     */
+    void update(double extrp, CommandBuffer commands);
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.Feature;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Services;
+
+/**
+ * Parallel update phase of {@link ParallelRoutine} features, for handled featurables only. Routines are split in
+ * contiguous shards, updated on the common fork join pool when numerous enough, on the calling thread else. Each shard
+ * records its effects in its own {@link CommandBuffer}, and buffers are applied on the calling thread in shard order
+ * once all shards are joined, so results do not depend on threads scheduling.
+ */
+public final class ParallelUpdater implements Updatable, HandlerListener
+{
+    /** Minimum routines to update in parallel, scripted entities counts reached in busy waves. */
+    private static final int PARALLEL_THRESHOLD = 64;
+    /** Routines by shard, at least two shards once threshold is reached. */
+    private static final int SHARD_SIZE = 32;
+
+    private final List<ParallelRoutine> routines = new ArrayList<>();
+    private final java.util.Map<ParallelRoutine, Integer> indexes = new IdentityHashMap<>();
+    private final List<CommandBuffer> buffers = new ArrayList<>();
+    private final FeaturablePool pool;
+    private final Handler handler;
+
+    /**
+     * Create updater, listening to handler additions and removals.
+     * 
+     * @param services The services reference.
+     */
+    public ParallelUpdater(Services services)
+    {
+        super();
+
+        pool = services.get(FeaturablePool.class);
+        handler = services.get(Handler.class);
+        handler.addListener(this);
+    }
+
+    /**
+     * Get the number of handled routines.
+     * 
+     * @return The routines number.
+     */
+    public int getRoutines()
+    {
+        return routines.size();
+    }
+
+    /**
+     * Update a shard of routines.
+     * 
+     * @param shard The shard index.
+     * @param extrp The extrapolation value.
+     */
+    private void update(int shard, double extrp)
+    {
+        final CommandBuffer commands = buffers.get(shard);
+        final int end = Math.min(routines.size(), (shard + 1) * SHARD_SIZE);
+        for (int i = shard * SHARD_SIZE; i < end; i++)
+        {
+            routines.get(i).update(extrp, commands);
+        }
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        final int count = routines.size();
+        final int shards = (count + SHARD_SIZE - 1) / SHARD_SIZE;
+        while (buffers.size() < shards)
+        {
+            buffers.add(new CommandBuffer());
+        }
+
+        if (count < PARALLEL_THRESHOLD)
+        {
+            for (int shard = 0; shard < shards; shard++)
+            {
+                update(shard, extrp);
+            }
+        }
+        else
+        {
+            ForkJoinPool.commonPool().invoke(new Shards(0, shards, extrp));
+        }
+
+        for (int shard = 0; shard < shards; shard++)
+        {
+            buffers.get(shard).apply(pool, handler);
+        }
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        for (final Feature feature : featurable.getFeatures())
+        {
+            if (feature instanceof ParallelRoutine)
+            {
+                final ParallelRoutine routine = (ParallelRoutine) feature;
+                indexes.put(routine, Integer.valueOf(routines.size()));
+                routines.add(routine);
+            }
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        for (final Feature feature : featurable.getFeatures())
+        {
+            if (feature instanceof ParallelRoutine)
+            {
+                final Integer index = indexes.remove(feature);
+                if (index != null)
+                {
+                    final ParallelRoutine last = routines.remove(routines.size() - 1);
+                    if (last != feature)
+                    {
+                        routines.set(index.intValue(), last);
+                        indexes.put(last, index);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Shards range update, split in halves until one shard.
+     */
+    private final class Shards extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private final double extrp;
+
+        /**
+         * Create action.
+         * 
+         * @param start The first shard (included).
+         * @param end The last shard (excluded).
+         * @param extrp The extrapolation value.
+         */
+        Shards(int start, int end, double extrp)
+        {
+            super();
+
+            this.start = start;
+            this.end = end;
+            this.extrp = extrp;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start == 1)
+            {
+                update(start, extrp);
+            }
+            else
+            {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new Shards(start, middle, extrp), new Shards(middle, end, extrp));
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Services;
+
+/**
+ * Factory serving the medias bounded in the {@link FeaturablePool} from their pool, other medias are created as usual.
+ * Engine features creating featurables through the {@link Factory} service, such as the launcher firing projectiles,
+ * then reuse pooled instances.
+ * <p>
+ * Features get the first {@link Factory} service, so this factory must be added to services before the world creates
+ * its own. The pool is looked up on first bounded creation, as it is added by the world.
+ * </p>
+ */
+public final class PooledFactory extends Factory
+{
+    private final Services services;
+    private FeaturablePool pool;
+
+    /**
+     * Create factory.
+     * 
+     * @param services The services reference.
+     */
+    public PooledFactory(Services services)
+    {
+        super(services);
+
+        this.services = services;
+    }
+
+    /**
+     * Create a featurable, acquired from pool if its media is bounded. Pooled instance must be added to the
+     * {@link com.b3dgs.lionengine.game.feature.Handler}.
+     * 
+     * @param <O> The featurable type.
+     * @param media The featurable media.
+     * @return The featurable instance.
+     * @throws LionEngineException If unable to create instance.
+     */
+    @Override
+    public <O extends Featurable> O create(Media media)
+    {
+        if (pool == null)
+        {
+            pool = services.getOptional(FeaturablePool.class).orElse(null);
+        }
+        if (pool != null && pool.isBounded(media))
+        {
+            return pool.acquire(media);
+        }
+        return super.create(media);
+    }
+
+    /**
+     * Create a new featurable, never pooled. Used by the {@link FeaturablePool} on miss.
+     * 
+     * @param <O> The featurable type.
+     * @param media The featurable media.
+     * @return The featurable instance.
+     * @throws LionEngineException If unable to create instance.
+     */
+    <O extends Featurable> O createNew(Media media)
+    {
+        return super.create(media);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Background assets preloading, as a graph of named tasks. Each task runs on a dedicated daemon pool once all its
+ * dependencies are completed, independent tasks run in parallel. Progress is the ratio of completed tasks, and a task
+ * failure is thrown back to the polling thread by {@link #isDone()}.
+ */
+public final class Preloader
+{
+    /** Task not found error. */
+    static final String ERROR_TASK = "Unknown task: ";
+    /** Duplicate task error. */
+    static final String ERROR_DUPLICATE = "Task already added: ";
+    /** Already started error. */
+    static final String ERROR_STARTED = "Preloader already started";
+
+    private final java.util.Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private ExecutorService executor;
+
+    /**
+     * Create preloader.
+     */
+    public Preloader()
+    {
+        super();
+    }
+
+    /**
+     * Add a task, started when all dependencies are completed.
+     * 
+     * @param name The task name (must be unique).
+     * @param task The task to run.
+     * @param dependencies The names of the tasks to wait for (must be already added).
+     * @return This preloader.
+     * @throws LionEngineException If invalid arguments, name already added or already started.
+     */
+    public Preloader add(String name, Runnable task, String... dependencies)
+    {
+        Check.notNull(name);
+        Check.notNull(task);
+        if (executor != null)
+        {
+            throw new LionEngineException(ERROR_STARTED);
+        }
+        if (futures.containsKey(name))
+        {
+            throw new LionEngineException(ERROR_DUPLICATE + name);
+        }
+        for (final String dependency : dependencies)
+        {
+            if (!futures.containsKey(dependency))
+            {
+                throw new LionEngineException(ERROR_TASK + dependency);
+            }
+        }
+        futures.put(name, new CompletableFuture<>());
+        tasks.add(new Task(name, task, dependencies));
+        return this;
+    }
+
+    /**
+     * Start all tasks. Dependencies being added before their dependents, the graph has no cycle.
+     * 
+     * @throws LionEngineException If already started.
+     */
+    public void start()
+    {
+        if (executor != null)
+        {
+            throw new LionEngineException(ERROR_STARTED);
+        }
+        final int threads = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors() - 1));
+        executor = Executors.newFixedThreadPool(threads, runnable ->
+        {
+            final Thread thread = new Thread(runnable, Constant.PROGRAM_NAME + " preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (final Task task : tasks)
+        {
+            final CompletableFuture<?>[] dependencies = new CompletableFuture<?>[task.dependencies.length];
+            for (int i = 0; i < dependencies.length; i++)
+            {
+                dependencies[i] = futures.get(task.dependencies[i]);
+            }
+            final CompletableFuture<Void> future = futures.get(task.name);
+            CompletableFuture.allOf(dependencies).thenRunAsync(task.runnable, executor).whenComplete((v, error) ->
+            {
+                if (error == null)
+                {
+                    completed.incrementAndGet();
+                    future.complete(null);
+                }
+                else
+                {
+                    future.completeExceptionally(error);
+                }
+            });
+        }
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()]))
+                         .whenComplete((v, error) -> executor.shutdown());
+    }
+
+    /**
+     * Get the loading progress.
+     * 
+     * @return The completed tasks ratio, in <code>[0, 1]</code>.
+     */
+    public double getProgress()
+    {
+        if (tasks.isEmpty())
+        {
+            return 1.0;
+        }
+        return completed.get() / (double) tasks.size();
+    }
+
+    /**
+     * Check if all tasks are completed.
+     * 
+     * @return <code>true</code> if completed, <code>false</code> else.
+     * @throws LionEngineException If a task failed.
+     */
+    public boolean isDone()
+    {
+        for (final CompletableFuture<Void> future : futures.values())
+        {
+            if (future.isCompletedExceptionally())
+            {
+                try
+                {
+                    future.join();
+                }
+                catch (final CompletionException exception)
+                {
+                    throw new LionEngineException(exception.getCause());
+                }
+            }
+        }
+        return completed.get() == tasks.size();
+    }
+
+    /**
+     * Preloading task.
+     */
+    private static final class Task
+    {
+        private final String name;
+        private final Runnable runnable;
+        private final String[] dependencies;
+
+        /**
+         * Create task.
+         * 
+         * @param name The task name.
+         * @param runnable The task to run.
+         * @param dependencies The dependencies names.
+         */
+        Task(String name, Runnable runnable, String[] dependencies)
+        {
+            super();
+
+            this.name = name;
+            this.runnable = runnable;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Renderable;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
+import com.b3dgs.lionengine.graphic.drawable.SpriteFont;
+import com.b3dgs.tyrian.FrameProfiler.Stage;
+
+/**
+ * On screen {@link FrameProfiler} summary, one line by stage with p50, p95 and p99 in microseconds, and a last line
+ * with the dropped late time. Text is refreshed periodically, so formatting does not weight on measured frames.
+ */
+final class ProfilerOverlay implements Updatable, Renderable
+{
+    private static final int REFRESH_FRAMES = 30;
+    private static final int NANO_PER_MICRO = 1000;
+    private static final int LINE_HEIGHT = 10;
+    private static final int OFFSET = 2;
+    private static final String HEADER = "STAGE P50 P95 P99";
+    private static final String DROPPED = "DROPPED ";
+
+    private final SpriteFont font = Drawable.loadSpriteFont(Medias.create(Constant.FOLDER_FONT, "font.png"),
+                                                            Medias.create(Constant.FOLDER_FONT, "font.xml"),
+                                                            8,
+                                                            9);
+    private final String[] lines = new String[Stage.values().length + 1];
+    private final FrameProfiler profiler;
+    private boolean visible;
+    private int frames;
+
+    /**
+     * Create overlay.
+     * 
+     * @param profiler The profiler reference.
+     */
+    ProfilerOverlay(FrameProfiler profiler)
+    {
+        super();
+
+        this.profiler = profiler;
+
+        font.load();
+        font.prepare();
+    }
+
+    /**
+     * Show or hide overlay.
+     */
+    void toggle()
+    {
+        visible = !visible;
+        frames = 0;
+    }
+
+    /**
+     * Format stages summary.
+     */
+    private void refresh()
+    {
+        final StringBuilder line = new StringBuilder();
+        for (final Stage stage : Stage.values())
+        {
+            final long[] summary = profiler.getSummary(stage);
+            line.setLength(0);
+            line.append(stage.name().replace('_', ' '));
+            for (final long value : summary)
+            {
+                line.append(' ').append(value / NANO_PER_MICRO);
+            }
+            lines[stage.ordinal()] = line.toString();
+        }
+        line.setLength(0);
+        line.append(DROPPED).append(profiler.getDrops()).append(' ').append(Math.round(profiler.getDropped()));
+        lines[lines.length - 1] = line.toString();
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        if (visible)
+        {
+            if (frames == 0)
+            {
+                refresh();
+            }
+            frames = (frames + 1) % REFRESH_FRAMES;
+        }
+    }
+
+    @Override
+    public void render(Graphic g)
+    {
+        if (visible)
+        {
+            font.setLocation(OFFSET, OFFSET);
+            font.setText(HEADER);
+            font.render(g);
+            for (int i = 0; i < lines.length; i++)
+            {
+                font.setLocation(OFFSET, OFFSET + (i + 1) * LINE_HEIGHT);
+                font.setText(lines[i]);
+                font.render(g);
+            }
+        }
+    }
+}
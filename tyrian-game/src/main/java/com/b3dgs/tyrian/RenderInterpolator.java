@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Transformable;
+
+/**
+ * Render positions between the two last simulation steps. Camera and handled transformables locations are kept before
+ * each step, blended with the current ones before rendering, and put back once rendered, previous location included,
+ * so gameplay never sees interpolated values. Camera and entities are interpolated together, so they do not jitter
+ * against each other. Transformables added since last step, or moved farther than {@link #MAX_BLEND} (teleport,
+ * pooled reuse), are rendered at their current location.
+ */
+final class RenderInterpolator
+{
+    /** Default transformables capacity. */
+    private static final int DEFAULT_CAPACITY = 128;
+    /** Maximum blended distance by axis in pixel. */
+    private static final double MAX_BLEND = 32.0;
+
+    /**
+     * Get blended value.
+     * 
+     * @param previous The previous step value.
+     * @param current The current step value.
+     * @param alpha The blend factor.
+     * @return The blended value, current one if too far.
+     */
+    private static double blend(double previous, double current, double alpha)
+    {
+        if (Math.abs(current - previous) > MAX_BLEND)
+        {
+            return current;
+        }
+        return previous + (current - previous) * alpha;
+    }
+
+    private final Camera camera;
+    private final Handler handler;
+    private Transformable[] transformables = new Transformable[DEFAULT_CAPACITY];
+    private double[] previousX = new double[DEFAULT_CAPACITY];
+    private double[] previousY = new double[DEFAULT_CAPACITY];
+    private double[] currentX = new double[DEFAULT_CAPACITY];
+    private double[] currentY = new double[DEFAULT_CAPACITY];
+    private double[] oldX = new double[DEFAULT_CAPACITY];
+    private double[] oldY = new double[DEFAULT_CAPACITY];
+    private int count;
+    private double cameraPreviousX;
+    private double cameraPreviousY;
+    private double cameraCurrentX;
+    private double cameraCurrentY;
+
+    /**
+     * Create interpolator.
+     * 
+     * @param camera The camera reference.
+     * @param handler The handler reference.
+     */
+    RenderInterpolator(Camera camera, Handler handler)
+    {
+        super();
+
+        this.camera = camera;
+        this.handler = handler;
+    }
+
+    /**
+     * Keep current locations as previous step ones. Must be called before each step.
+     */
+    void snapshot()
+    {
+        cameraPreviousX = camera.getX();
+        cameraPreviousY = camera.getY();
+
+        final int last = count;
+        count = 0;
+        for (final Featurable featurable : handler.values())
+        {
+            if (featurable.hasFeature(Transformable.class))
+            {
+                if (count == transformables.length)
+                {
+                    grow();
+                }
+                final Transformable transformable = featurable.getFeature(Transformable.class);
+                transformables[count] = transformable;
+                previousX[count] = transformable.getX();
+                previousY[count] = transformable.getY();
+                count++;
+            }
+        }
+        if (count < last)
+        {
+            Arrays.fill(transformables, count, last, null);
+        }
+    }
+
+    /**
+     * Shift previous locations down, as the world has been shifted during the step.
+     * 
+     * @param dy The vertical shift in pixel.
+     */
+    void shift(double dy)
+    {
+        cameraPreviousY -= dy;
+        for (int i = 0; i < count; i++)
+        {
+            previousY[i] -= dy;
+        }
+    }
+
+    /**
+     * Set interpolated locations. Must be followed by {@link #restore()} once rendered.
+     * 
+     * @param alpha The elapsed part of next step, between <code>0.0</code> and <code>1.0</code>.
+     */
+    void apply(double alpha)
+    {
+        cameraCurrentX = camera.getX();
+        cameraCurrentY = camera.getY();
+        camera.teleport(blend(cameraPreviousX, cameraCurrentX, alpha), blend(cameraPreviousY, cameraCurrentY, alpha));
+
+        for (int i = 0; i < count; i++)
+        {
+            final Transformable transformable = transformables[i];
+            currentX[i] = transformable.getX();
+            currentY[i] = transformable.getY();
+            oldX[i] = transformable.getOldX();
+            oldY[i] = transformable.getOldY();
+            transformable.setLocation(blend(previousX[i], currentX[i], alpha), blend(previousY[i], currentY[i], alpha));
+        }
+    }
+
+    /**
+     * Put back current and previous locations.
+     */
+    void restore()
+    {
+        camera.teleport(cameraCurrentX, cameraCurrentY);
+        for (int i = 0; i < count; i++)
+        {
+            final Transformable transformable = transformables[i];
+            transformable.teleport(oldX[i], oldY[i]);
+            transformable.setLocation(currentX[i], currentY[i]);
+        }
+    }
+
+    /**
+     * Double storage capacity.
+     */
+    private void grow()
+    {
+        final int capacity = transformables.length * 2;
+        transformables = Arrays.copyOf(transformables, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        currentX = Arrays.copyOf(currentX, capacity);
+        currentY = Arrays.copyOf(currentY, capacity);
+        oldX = Arrays.copyOf(oldX, capacity);
+        oldY = Arrays.copyOf(oldY, capacity);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.SplittableRandom;
+
+import com.b3dgs.lionengine.Range;
+
+/**
+ * Seedable random service, one per {@link World}. Replaces the global {@link com.b3dgs.lionengine.UtilRandom} in
+ * gameplay code: identical seeds give identical runs, and simulations running in parallel do not share any state.
+ * Not thread safe, each world owns its instance, use {@link #split()} to give a generator to another thread.
+ */
+public final class Rng
+{
+    private final SplittableRandom random;
+    private final long seed;
+
+    /**
+     * Create generator with a time based seed.
+     */
+    public Rng()
+    {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Create generator.
+     * 
+     * @param seed The seed value.
+     */
+    public Rng(long seed)
+    {
+        this(new SplittableRandom(seed), seed);
+    }
+
+    /**
+     * Create generator.
+     * 
+     * @param random The random reference.
+     * @param seed The seed value.
+     */
+    private Rng(SplittableRandom random, long seed)
+    {
+        super();
+
+        this.random = random;
+        this.seed = seed;
+    }
+
+    /**
+     * Get a random integer, in the same range as {@link com.b3dgs.lionengine.UtilRandom#getRandomInteger(int)}.
+     * 
+     * @param max The maximum value (included, must be positive).
+     * @return The random integer in <code>[0, max]</code>.
+     */
+    public int nextInt(int max)
+    {
+        return random.nextInt(max + 1);
+    }
+
+    /**
+     * Get a random integer, in the same range as {@link com.b3dgs.lionengine.UtilRandom#getRandomInteger(int, int)}.
+     * 
+     * @param min The minimum value (included).
+     * @param max The maximum value (included, must be superior or equal to min).
+     * @return The random integer in <code>[min, max]</code>.
+     */
+    public int nextInt(int min, int max)
+    {
+        return random.nextInt(min, max + 1);
+    }
+
+    /**
+     * Get a random integer in range, like {@link com.b3dgs.lionengine.UtilRandom#getRandomInteger(Range)}.
+     * 
+     * @param range The range (bounds included).
+     * @return The random integer in range.
+     */
+    public int nextInt(Range range)
+    {
+        return nextInt(range.getMin(), range.getMax());
+    }
+
+    /**
+     * Get a random boolean.
+     * 
+     * @return The random boolean.
+     */
+    public boolean nextBoolean()
+    {
+        return random.nextBoolean();
+    }
+
+    /**
+     * Create an independent generator, deterministically derived from this one.
+     * 
+     * @return The new generator.
+     */
+    public Rng split()
+    {
+        return new Rng(random.split(), seed);
+    }
+
+    /**
+     * Create a generator seeded from this one seed and a salt. Unlike {@link #split()}, it does not depend on the
+     * values drawn so far, and drawing from it never changes this generator sequence.
+     * 
+     * @param salt The seed salt, one by generator user.
+     * @return The new generator.
+     */
+    public Rng derive(long salt)
+    {
+        return new Rng(seed ^ salt);
+    }
+
+    /**
+     * Get the seed used at creation.
+     * 
+     * @return The seed value.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+}
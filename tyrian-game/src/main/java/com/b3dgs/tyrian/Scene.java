@@ -16,14 +16,40 @@
  */
 package com.b3dgs.tyrian;
 
+import java.io.IOException;
+import java.util.Optional;
+
 import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.game.feature.SequenceGame;
+import com.b3dgs.lionengine.game.feature.Services;
 
 /**
  * Game loop designed to handle our little world.
  */
 public class Scene extends SequenceGame<World>
 {
+    /**
+     * Create the input recorder service, with the world random generator providing its seed.
+     * 
+     * @param services The services reference.
+     * @param record The record file.
+     * @throws LionEngineException If unable to create record file.
+     */
+    private static void createRecorder(Services services, Media record)
+    {
+        final Rng rng = services.add(new Rng());
+        try
+        {
+            services.add(new InputRecorder(record, rng.getSeed()));
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
     /**
      * Constructor.
      * 
@@ -31,7 +57,46 @@ public class Scene extends SequenceGame<World>
      */
     public Scene(Context context)
     {
-        super(context, Constant.NATIVE, World::new);
+        super(context, Constant.NATIVE, (Services services) ->
+        {
+            services.add(new PooledFactory(services));
+            return new World(services);
+        });
+    }
+
+    /**
+     * Constructor, using assets preloaded by {@link Loading}.
+     * 
+     * @param context The context reference.
+     * @param atlas The preloaded atlas.
+     * @param profiler The frame profiler used by world.
+     */
+    public Scene(Context context, Atlas atlas, FrameProfiler profiler)
+    {
+        this(context, atlas, profiler, Optional.empty());
+    }
+
+    /**
+     * Constructor, using assets preloaded by {@link Loading}, and recording ship input if a record file is provided.
+     * 
+     * @param context The context reference.
+     * @param atlas The preloaded atlas.
+     * @param profiler The frame profiler used by world.
+     * @param record The {@link InputRecorder} file, empty to not record.
+     */
+    public Scene(Context context, Atlas atlas, FrameProfiler profiler, Optional<Media> record)
+    {
+        super(context, Constant.NATIVE, (Services services) ->
+        {
+            services.add(new PooledFactory(services));
+            services.add(atlas);
+            services.add(profiler);
+            if (record.isPresent())
+            {
+                createRecorder(services, record.get());
+            }
+            return new World(services);
+        });
     }
 
     @Override
@@ -48,6 +113,8 @@ public class Scene extends SequenceGame<World>
             Sfx.stopAll();
             Music.stop();
         }
+        world.terminate();
+        AudioCache.trim();
 
         super.onTerminated(hasNextSequence);
     }
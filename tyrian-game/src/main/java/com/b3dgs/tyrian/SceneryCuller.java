@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+
+/**
+ * Keep scenery entities asleep until they get close to the camera view. Sleeping entities are not in the
+ * {@link Handler}, so they are neither updated nor rendered. Scenery is static and camera only scrolls up, so an
+ * entity is woken once, when its bottom border reaches the camera top plus a margin.
+ */
+public final class SceneryCuller implements Updatable
+{
+    /** Wake margin above the camera view in pixel. */
+    private static final int MARGIN = 32;
+    /** Sleeping order, lowest first. */
+    private static final Comparator<Featurable> BOTTOM_ORDER = Comparator.comparingDouble(SceneryCuller::getBottom);
+
+    /**
+     * Get entity bottom border.
+     * 
+     * @param featurable The entity reference.
+     * @return The bottom border.
+     */
+    private static double getBottom(Featurable featurable)
+    {
+        final Transformable transformable = featurable.getFeature(Transformable.class);
+        return transformable.getY() - transformable.getHeight() / 2.0;
+    }
+
+    private final Queue<Featurable> sleeping = new PriorityQueue<>(BOTTOM_ORDER);
+    private final Camera camera;
+    private final Handler handler;
+
+    /**
+     * Create culler.
+     * 
+     * @param services The services reference.
+     */
+    public SceneryCuller(Services services)
+    {
+        super();
+
+        camera = services.get(Camera.class);
+        handler = services.get(Handler.class);
+    }
+
+    /**
+     * Add a scenery entity, kept asleep until visible. Entity must be located.
+     * 
+     * @param featurable The entity to add.
+     */
+    public void add(Featurable featurable)
+    {
+        sleeping.add(featurable);
+    }
+
+    /**
+     * Shift sleeping entities down, as the map dropped its lowest chunks. Order is kept.
+     * 
+     * @param dy The vertical shift in pixel.
+     */
+    public void shift(double dy)
+    {
+        for (final Featurable featurable : sleeping)
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            transformable.teleportY(transformable.getY() - dy);
+        }
+    }
+
+    /**
+     * Get the number of sleeping entities.
+     * 
+     * @return The sleeping entities.
+     */
+    public int getSleeping()
+    {
+        return sleeping.size();
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        final double top = camera.getY() + camera.getHeight() + MARGIN;
+        while (!sleeping.isEmpty() && getBottom(sleeping.peek()) <= top)
+        {
+            handler.add(sleeping.poll());
+        }
+    }
+}
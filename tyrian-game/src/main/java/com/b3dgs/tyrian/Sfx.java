@@ -16,52 +16,129 @@
  */
 package com.b3dgs.tyrian;
 
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.audio.Audio;
 import com.b3dgs.lionengine.audio.AudioFactory;
 
 /**
- * Handle the sound effect.
+ * Handle the sound effect. Sounds are played by the {@link SfxMixer} if set, with their priority and instances cap,
+ * else by their own engine audio.
  */
 public enum Sfx
 {
     /** Blank. */
-    BLANK("blank"),
+    BLANK("blank", 0, 1),
     /** Menu click. */
-    CLICK("click"),
+    CLICK("click", 2, 1),
     /** Menu select. */
-    SELECT("select"),
+    SELECT("select", 2, 1),
     /** Accept. */
-    ACCEPT("accept"),
+    ACCEPT("accept", 2, 1),
     /** Bullet hit. */
-    BULLET_HIT("bullet_hit"),
+    BULLET_HIT("bullet_hit", 0, 3),
     /** Player shield. */
-    PLAYER_SHIELD("player_shield"),
+    PLAYER_SHIELD("player_shield", 2, 1),
     /** Player life. */
-    PLAYER_LIFE("player_life"),
+    PLAYER_LIFE("player_life", 2, 1),
     /** Weapon pulse. */
-    WEAPON_PULSE("weapon_pulse"),
+    WEAPON_PULSE("weapon_pulse", 1, 2),
     /** Weapon missile. */
-    WEAPON_MISSILE("weapon_missile"),
+    WEAPON_MISSILE("weapon_missile", 1, 2),
     /** Weapon machine gun. */
-    WEAPON_MACHINE_GUN("weapon_machine_gun"),
+    WEAPON_MACHINE_GUN("weapon_machine_gun", 1, 2),
     /** Weapon wave. */
-    WEAPON_WAVE("weapon_wave"),
+    WEAPON_WAVE("weapon_wave", 1, 2),
     /** Explode large. */
-    EXPLODE_LARGE("explode_large"),
+    EXPLODE_LARGE("explode_large", 1, 3),
     /** Explode little. */
-    EXPLODE_LITTLE("explode_little"),
+    EXPLODE_LITTLE("explode_little", 0, 3),
     /** Bonus. */
-    BONUS("bonus"),
+    BONUS("bonus", 2, 1),
     /** Power up. */
-    POWER_UP("power_up");
+    POWER_UP("power_up", 2, 1);
 
     /** Audio file extension. */
     public static final String AUDIO_FILE_EXTENSION = ".wav";
+    /** Weapon fire sound priority. */
+    public static final int PRIORITY_WEAPON = 1;
+    /** Weapon fire sound instances cap. */
+    public static final int CAP_WEAPON = 2;
 
     /** Sound enabled. */
     private static boolean enabled = true;
+    /** Sound mixer, <code>null</code> to use engine audio (set from main thread, read by loading thread). */
+    private static volatile SfxMixer mixer;
+
+    /**
+     * Set the sound mixer. Must be set before {@link #load()}.
+     * 
+     * @param mixer The mixer reference, <code>null</code> to use engine audio.
+     */
+    public static void setMixer(SfxMixer mixer)
+    {
+        Sfx.mixer = mixer;
+    }
+
+    /**
+     * Check if a sound mixer is set.
+     * 
+     * @return <code>true</code> if mixer set, <code>false</code> else.
+     */
+    public static boolean hasMixer()
+    {
+        return mixer != null;
+    }
+
+    /**
+     * Load all sound effects in advance, decoded by the mixer if set.
+     * 
+     * @throws LionEngineException If unable to load a sound.
+     */
+    public static void load()
+    {
+        for (final Sfx sfx : values())
+        {
+            if (mixer != null)
+            {
+                mixer.load(sfx.media);
+            }
+            else
+            {
+                sfx.getAudio();
+            }
+        }
+    }
+
+    /**
+     * Decode a sound file in advance with the mixer, if set.
+     * 
+     * @param media The sound media.
+     * @throws LionEngineException If unable to decode sound.
+     */
+    public static void load(Media media)
+    {
+        if (mixer != null)
+        {
+            mixer.load(media);
+        }
+    }
+
+    /**
+     * Play a sound file with the mixer, if enabled and mixer is set.
+     * 
+     * @param media The sound media.
+     * @param priority The sound priority, higher steals lower.
+     * @param cap The maximum number of simultaneous instances of this sound.
+     */
+    public static void play(Media media, int priority, int cap)
+    {
+        if (enabled && mixer != null)
+        {
+            mixer.play(media, priority, cap);
+        }
+    }
 
     /**
      * Set the enabled state.
@@ -90,25 +167,55 @@ public enum Sfx
     {
         if (enabled)
         {
-            for (final Sfx sfx : Sfx.values())
+            if (mixer != null)
             {
-                sfx.stop();
+                mixer.stopAll();
+            }
+            else
+            {
+                for (final Sfx sfx : Sfx.values())
+                {
+                    sfx.stop();
+                }
             }
         }
     }
 
-    /** Sounds list composing the effect. */
-    private final Audio sound;
+    /** Sound file. */
+    private final Media media;
+    /** Sound priority. */
+    private final int priority;
+    /** Sound instances cap. */
+    private final int cap;
+    /** Engine audio, loaded on first use without mixer. */
+    private volatile Audio sound;
 
     /**
      * Constructor.
      * 
      * @param sound The sound.
+     * @param priority The sound priority, higher steals lower.
+     * @param cap The maximum number of simultaneous instances.
      */
-    Sfx(String sound)
+    Sfx(String sound, int priority, int cap)
     {
-        final Media media = Medias.create(Constant.FOLDER_SFX, sound + AUDIO_FILE_EXTENSION);
-        this.sound = AudioFactory.loadAudio(media);
+        media = Medias.create(Constant.FOLDER_SFX, sound + AUDIO_FILE_EXTENSION);
+        this.priority = priority;
+        this.cap = cap;
+    }
+
+    /**
+     * Get the engine audio, loaded on first call.
+     * 
+     * @return The engine audio.
+     */
+    private synchronized Audio getAudio()
+    {
+        if (sound == null)
+        {
+            sound = AudioFactory.loadAudio(media);
+        }
+        return sound;
     }
 
     /**
@@ -118,18 +225,34 @@ public enum Sfx
     {
         if (enabled)
         {
-            sound.play();
+            if (mixer != null)
+            {
+                mixer.play(media, priority, cap);
+            }
+            else
+            {
+                getAudio().play();
+            }
         }
     }
 
     /**
-     * Stop playing sound.
+     * Stop playing sound. Engine audio is not loaded if not already, as it cannot be playing.
      */
     public void stop()
     {
         if (enabled)
         {
-            sound.stop();
+            final SfxMixer current = mixer;
+            final Audio audio = sound;
+            if (current != null)
+            {
+                current.stop(media);
+            }
+            else if (audio != null)
+            {
+                audio.stop();
+            }
         }
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+
+/**
+ * Sound effects mixer. Sounds are decoded once, then played on a fixed number of voices mixed to a single output.
+ * <p>
+ * A sound already playing its maximum number of instances restarts its oldest instance. When all voices are busy, the
+ * oldest voice of the lowest priority is stolen if not higher than the played sound, else the sound is dropped.
+ * </p>
+ */
+public interface SfxMixer
+{
+    /**
+     * Decode sound in advance, if not already decoded.
+     * 
+     * @param media The sound media.
+     * @throws LionEngineException If unable to decode sound.
+     */
+    void load(Media media);
+
+    /**
+     * Play sound, decoded first if needed.
+     * 
+     * @param media The sound media.
+     * @param priority The sound priority, higher steals lower.
+     * @param cap The maximum number of simultaneous instances of this sound (must be strictly positive).
+     * @throws LionEngineException If unable to decode sound.
+     */
+    void play(Media media, int priority, int cap);
+
+    /**
+     * Stop all instances of a sound.
+     * 
+     * @param media The sound media.
+     */
+    void stop(Media media);
+
+    /**
+     * Stop all sounds.
+     */
+    void stopAll();
+
+    /**
+     * Stop mixing and release output.
+     */
+    void close();
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Resolution;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+
+/**
+ * Headless world driver. Runs {@link World#update(double)} for a number of ticks at a fixed extrapolation, without
+ * window, rendering, input nor sound playback.
+ * <p>
+ * Engine must be started (resources and image loading are still used by features). Sound effects are disabled until
+ * {@link #close()}, which restores their previous state.
+ * </p>
+ */
+public final class Simulation implements AutoCloseable
+{
+    /** Default extrapolation value. */
+    public static final double EXTRP = 1.0;
+    /** Default random seed. */
+    public static final long SEED = 0L;
+    /** Nanoseconds per second. */
+    private static final double NANO_PER_SECOND = 1_000_000_000.0;
+    /** Headless ship media (controlled by {@link InputReplay} if any). */
+    private static final Media SHIP = Medias.create(Constant.FOLDER_SHIP, "stalker_headless.xml");
+
+    /**
+     * Create services for a headless world at native resolution, with the {@link #SEED} random seed.
+     * 
+     * @return The created services.
+     */
+    public static Services createServices()
+    {
+        return createServices(SEED);
+    }
+
+    /**
+     * Create services for a headless world at native resolution, launching projectiles through a
+     * {@link PooledFactory}. Worlds created with the same seed run identically.
+     * 
+     * @param seed The random seed.
+     * @return The created services.
+     */
+    public static Services createServices(long seed)
+    {
+        final Services services = new Services();
+        services.add(new HeadlessSource(Constant.NATIVE));
+        services.add(new PooledFactory(services));
+        services.add(new Rng(seed));
+        return services;
+    }
+
+    /**
+     * Create services for a headless world replaying recorded input, seeded as the recorded world.
+     * 
+     * @param replay The input replay.
+     * @return The created services.
+     */
+    public static Services createServices(InputReplay replay)
+    {
+        final Services services = createServices(replay.getSeed());
+        services.add(replay);
+        return services;
+    }
+
+    private final World world;
+    private final boolean sfx;
+    private long ticks;
+    private long elapsed;
+
+    /**
+     * Create simulation with its own services and the {@link #SEED} random seed.
+     * 
+     * @throws LionEngineException If unable to create world.
+     */
+    public Simulation()
+    {
+        this(createServices());
+    }
+
+    /**
+     * Create simulation. Ship is controlled by the {@link InputReplay} service if any, idle else.
+     * 
+     * @param services The services reference (must provide a {@link SourceResolutionProvider}).
+     * @throws LionEngineException If unable to create world.
+     */
+    public Simulation(Services services)
+    {
+        super();
+
+        sfx = Sfx.isEnabled();
+        Sfx.setEnabled(false);
+        world = new World(services, SHIP, true);
+    }
+
+    /**
+     * Run world update. World steps by {@link World#STEP}, so an extrapolation of {@link #EXTRP} runs one step by tick.
+     * 
+     * @param count The number of ticks to run (must be strictly positive).
+     * @param extrp The extrapolation value used for each tick.
+     * @return The ticks per second of this run.
+     * @throws LionEngineException If invalid argument.
+     */
+    public double run(int count, double extrp)
+    {
+        Check.superiorStrict(count, 0);
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++)
+        {
+            world.update(extrp);
+        }
+        final long duration = Math.max(1L, System.nanoTime() - start);
+
+        ticks += count;
+        elapsed += duration;
+
+        return count * NANO_PER_SECOND / duration;
+    }
+
+    /**
+     * Get the total ticks run.
+     * 
+     * @return The total ticks.
+     */
+    public long getTicks()
+    {
+        return ticks;
+    }
+
+    /**
+     * Get the average ticks per second since creation.
+     * 
+     * @return The average ticks per second, <code>0</code> if not run.
+     */
+    public double getTicksPerSecond()
+    {
+        if (elapsed == 0L)
+        {
+            return 0.0;
+        }
+        return ticks * NANO_PER_SECOND / elapsed;
+    }
+
+    /**
+     * Get the simulated world.
+     * 
+     * @return The world reference.
+     */
+    public World getWorld()
+    {
+        return world;
+    }
+
+    /**
+     * Terminate world, and restore sound effects state as before simulation creation.
+     * 
+     * @throws LionEngineException If unable to terminate world.
+     */
+    @Override
+    public void close()
+    {
+        world.terminate();
+        Sfx.setEnabled(sfx);
+    }
+
+    /**
+     * Fixed source resolution, replacing the screen.
+     */
+    private static final class HeadlessSource implements SourceResolutionProvider
+    {
+        private final Resolution resolution;
+
+        /**
+         * Create source.
+         * 
+         * @param resolution The source resolution.
+         */
+        HeadlessSource(Resolution resolution)
+        {
+            super();
+
+            this.resolution = resolution;
+        }
+
+        @Override
+        public int getWidth()
+        {
+            return resolution.getWidth();
+        }
+
+        @Override
+        public int getHeight()
+        {
+            return resolution.getHeight();
+        }
+
+        @Override
+        public int getRate()
+        {
+            return resolution.getRate();
+        }
+    }
+}
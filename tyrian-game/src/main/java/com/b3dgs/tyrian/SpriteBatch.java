@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Optional;
+
+import com.b3dgs.lionengine.Animation;
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.Renderable;
+
+/**
+ * Batched sprite frames renderer, used by the {@link BatchRenderer} for each layer, and by the
+ * {@link com.b3dgs.tyrian.entity.BulletEngine}. Draws are recorded in arrays reused between frames, and issued on
+ * {@link #render(Graphic)} grouped by source image, with no sprite by draw.
+ * <p>
+ * Sheets packed in the {@link Atlas} are drawn straight from their atlas page, so all of them share the same source
+ * image. Draws are grouped with a stable counting sort on the source index, so recording order is kept for each
+ * source. {@link #getSwitches()} counts the source changes of last render.
+ * </p>
+ */
+public final class SpriteBatch implements Renderable
+{
+    /** Default draws capacity. */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final java.util.Map<Media, Integer> sheets = new HashMap<>();
+    private final java.util.Map<ImageBuffer, Integer> sourcesIndex = new IdentityHashMap<>();
+    private final Atlas atlas;
+    private ImageBuffer[] sources = new ImageBuffer[0];
+    private int[] sheetSource = new int[0];
+    private int[] sheetX = new int[0];
+    private int[] sheetY = new int[0];
+    private int[] sheetColumns = new int[0];
+    private int[] frameWidth = new int[0];
+    private int[] frameHeight = new int[0];
+
+    private int[] drawSheet = new int[DEFAULT_CAPACITY];
+    private int[] drawFrame = new int[DEFAULT_CAPACITY];
+    private int[] drawX = new int[DEFAULT_CAPACITY];
+    private int[] drawY = new int[DEFAULT_CAPACITY];
+    private int[] order = new int[DEFAULT_CAPACITY];
+    private int[] sourceStart = new int[1];
+    private int count;
+    private int switches;
+
+    /**
+     * Create batch.
+     * 
+     * @param services The services reference.
+     * @throws LionEngineException If missing services.
+     */
+    public SpriteBatch(Services services)
+    {
+        super();
+
+        atlas = services.get(Atlas.class);
+    }
+
+    /**
+     * Register a sprite sheet, once by media. Image is resolved from the {@link Atlas} if packed, loaded else.
+     * 
+     * @param media The image media.
+     * @param horizontalFrames The number of horizontal frames (must be strictly positive).
+     * @param verticalFrames The number of vertical frames (must be strictly positive).
+     * @return The sheet index.
+     * @throws LionEngineException If invalid arguments or unable to load image.
+     */
+    public int register(Media media, int horizontalFrames, int verticalFrames)
+    {
+        Check.superiorStrict(horizontalFrames, 0);
+        Check.superiorStrict(verticalFrames, 0);
+
+        final Integer existing = sheets.get(media);
+        if (existing != null)
+        {
+            return existing.intValue();
+        }
+
+        final ImageBuffer source;
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+        final Optional<int[]> region = atlas.getRegion(media);
+        if (region.isPresent())
+        {
+            source = atlas.getPage(region.get()[0]);
+            x = region.get()[1];
+            y = region.get()[2];
+            width = region.get()[3];
+            height = region.get()[4];
+        }
+        else
+        {
+            source = Graphics.getImageBuffer(media);
+            x = 0;
+            y = 0;
+            width = source.getWidth();
+            height = source.getHeight();
+        }
+
+        final int index = sheetSource.length;
+        sheetSource = Arrays.copyOf(sheetSource, index + 1);
+        sheetX = Arrays.copyOf(sheetX, index + 1);
+        sheetY = Arrays.copyOf(sheetY, index + 1);
+        sheetColumns = Arrays.copyOf(sheetColumns, index + 1);
+        frameWidth = Arrays.copyOf(frameWidth, index + 1);
+        frameHeight = Arrays.copyOf(frameHeight, index + 1);
+        sheetSource[index] = getSource(source);
+        sheetX[index] = x;
+        sheetY[index] = y;
+        sheetColumns[index] = horizontalFrames;
+        frameWidth[index] = width / horizontalFrames;
+        frameHeight[index] = height / verticalFrames;
+        sheets.put(media, Integer.valueOf(index));
+
+        return index;
+    }
+
+    /**
+     * Record a frame draw, centered on its location.
+     * 
+     * @param sheet The sheet index, as registered.
+     * @param frame The frame number, starting at {@link Animation#MINIMUM_FRAME}.
+     * @param x The horizontal screen location.
+     * @param y The vertical screen location.
+     */
+    public void draw(int sheet, int frame, int x, int y)
+    {
+        if (count == drawSheet.length)
+        {
+            grow(count * 2);
+        }
+        drawSheet[count] = sheet;
+        drawFrame[count] = frame - Animation.MINIMUM_FRAME;
+        drawX[count] = x - frameWidth[sheet] / 2;
+        drawY[count] = y - frameHeight[sheet] / 2;
+        count++;
+    }
+
+    /**
+     * Get the number of recorded draws.
+     * 
+     * @return The pending draws.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Get the number of source image changes on last render.
+     * 
+     * @return The source switches.
+     */
+    public int getSwitches()
+    {
+        return switches;
+    }
+
+    /**
+     * Get source index, added if missing.
+     * 
+     * @param source The source image.
+     * @return The source index.
+     */
+    private int getSource(ImageBuffer source)
+    {
+        final Integer existing = sourcesIndex.get(source);
+        if (existing != null)
+        {
+            return existing.intValue();
+        }
+        final int index = sources.length;
+        sources = Arrays.copyOf(sources, index + 1);
+        sources[index] = source;
+        sourceStart = new int[index + 2];
+        sourcesIndex.put(source, Integer.valueOf(index));
+        return index;
+    }
+
+    /**
+     * Grow draw arrays.
+     * 
+     * @param capacity The new capacity.
+     */
+    private void grow(int capacity)
+    {
+        drawSheet = Arrays.copyOf(drawSheet, capacity);
+        drawFrame = Arrays.copyOf(drawFrame, capacity);
+        drawX = Arrays.copyOf(drawX, capacity);
+        drawY = Arrays.copyOf(drawY, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+
+    /**
+     * Sort recorded draws by source index, keeping recording order for each source.
+     */
+    private void sort()
+    {
+        Arrays.fill(sourceStart, 0);
+        for (int draw = 0; draw < count; draw++)
+        {
+            sourceStart[sheetSource[drawSheet[draw]] + 1]++;
+        }
+        for (int source = 1; source < sourceStart.length; source++)
+        {
+            sourceStart[source] += sourceStart[source - 1];
+        }
+        for (int draw = 0; draw < count; draw++)
+        {
+            order[sourceStart[sheetSource[drawSheet[draw]]]++] = draw;
+        }
+    }
+
+    /**
+     * Draw recorded frames grouped by source image, then clear them.
+     * 
+     * @param g The graphic output.
+     */
+    @Override
+    public void render(Graphic g)
+    {
+        sort();
+        int last = -1;
+        switches = 0;
+        for (int i = 0; i < count; i++)
+        {
+            final int draw = order[i];
+            final int sheet = drawSheet[draw];
+            final int source = sheetSource[sheet];
+            if (source != last)
+            {
+                switches++;
+                last = source;
+            }
+            final int width = frameWidth[sheet];
+            final int height = frameHeight[sheet];
+            final int sx = sheetX[sheet] + drawFrame[draw] % sheetColumns[sheet] * width;
+            final int sy = sheetY[sheet] + drawFrame[draw] / sheetColumns[sheet] * height;
+            final int x = drawX[draw];
+            final int y = drawY[draw];
+            g.drawImage(sources[source], x, y, x + width, y + height, sx, sy, sx + width, sy + height);
+        }
+        count = 0;
+    }
+}
@@ -16,15 +16,18 @@
  */
 package com.b3dgs.tyrian;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Tick;
-import com.b3dgs.lionengine.UtilRandom;
 import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
 import com.b3dgs.lionengine.game.feature.Layerable;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Transformable;
@@ -32,16 +35,35 @@ import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.helper.DeviceControllerConfig;
 import com.b3dgs.lionengine.helper.WorldHelper;
 import com.b3dgs.lionengine.io.DeviceController;
+import com.b3dgs.tyrian.FrameProfiler.Stage;
 import com.b3dgs.tyrian.background.Background;
+import com.b3dgs.tyrian.entity.BulletEngine;
+import com.b3dgs.tyrian.entity.EnemyFire;
 import com.b3dgs.tyrian.entity.ShipModel;
 
 /**
  * World game representation.
+ * <p>
+ * Simulation runs at a fixed step: the engine extrapolation is accumulated, and the world is stepped by
+ * {@link #STEP} as many times as accumulated, so movements and collisions do not depend on the frame rate. Input
+ * devices are sampled once per update, and the sample is consumed by the steps. Rendering interpolates the camera and
+ * the entities together between the two last steps, with the remaining accumulated time.
+ * </p>
+ * <p>
+ * The map is a ring of rows: when its lowest chunks are dropped, the whole world is shifted down by the same amount.
+ * </p>
  */
-public class World extends WorldHelper
+public class World extends WorldHelper implements HandlerListener
 {
+    /** Simulation step, in extrapolation unit (one tick at the native rate). */
+    public static final double STEP = 1.0;
+    /** Level theme. */
+    public static final String THEME = "level1";
+    /** Maximum steps by update, late time is dropped beyond. */
+    private static final int MAX_STEPS = 4;
     private static final long SPAWN_DELAY = 100;
     private static final int SPAWN_BONUS_CHANCE = 10;
+    private static final int SPAWN_PREWARM = 8;
     private static final List<Media> SPAWN_ENTITIES = getEntities();
     private static final List<Media> SPAWN_BONUS = new ArrayList<>();
 
@@ -88,21 +110,26 @@ public class World extends WorldHelper
                              Medias.create(root.getPath(), "sonic_wave.xml"));
     }
 
-    /**
-     * Get a random media from array.
-     * 
-     * @param medias The medias array.
-     * @return The random media.
-     */
-    private static Media getRandomMedia(List<Media> medias)
-    {
-        return medias.get(UtilRandom.getRandomInteger(medias.size() - 1));
-    }
-
+    private final boolean headless;
+    private final Rng rng;
     private final DeviceController deviceCursor;
-    private final Background background = new Background(camera);
+    private final Background background;
     private final Tick tick = new Tick();
+    private final FeaturablePool pool;
+    private final ParallelUpdater parallel;
+    private final EnemyFire enemyFire;
+    private final BulletEngine bullets;
     private final Hud hud;
+    private final FrameProfiler profiler;
+    private final ProfilerOverlay overlay;
+    private final SceneryCuller culler;
+    private final MapStreamer streamer;
+    private final RenderInterpolator interpolator;
+    private final BatchRenderer renderer;
+    private final Optional<InputSampler> sampler;
+    private double accumulated;
+    /** Shift applied since last handler update, for featurables pending add. */
+    private double pendingShift;
 
     /**
      * Create the world.
@@ -110,31 +137,151 @@ public class World extends WorldHelper
      * @param services The services reference.
      */
     public World(Services services)
+    {
+        this(services, Medias.create(Constant.FOLDER_SHIP, "stalker.xml"), false);
+    }
+
+    /**
+     * Create the world. A time seeded {@link Rng} is added to services if none provided.
+     * 
+     * @param services The services reference.
+     * @param shipMedia The player ship media.
+     * @param headless <code>true</code> to skip input, background and HUD (world renders nothing),
+     *            <code>false</code> else.
+     */
+    public World(Services services, Media shipMedia, boolean headless)
     {
         super(services);
 
-        deviceCursor = services.add(DeviceControllerConfig.create(services, Medias.create("input_cursor.xml")));
+        this.headless = headless;
+        rng = services.getOptional(Rng.class).orElseGet(() -> services.add(new Rng()));
+        profiler = services.getOptional(FrameProfiler.class).orElseGet(() -> services.add(new FrameProfiler()));
+        services.getOptional(Atlas.class).orElseGet(() -> services.add(Atlas.load()));
+        if (headless)
+        {
+            deviceCursor = null;
+            background = null;
+            overlay = null;
+            interpolator = null;
+        }
+        else
+        {
+            deviceCursor = services.add(DeviceControllerConfig.create(services, Medias.create("input_cursor.xml")));
+            background = new Background(camera, rng.derive(Background.SEED_SALT));
+            overlay = new ProfilerOverlay(profiler);
+            interpolator = new RenderInterpolator(camera, handler);
+        }
+        pool = services.add(new FeaturablePool(services));
+        parallel = services.add(new ParallelUpdater(services));
+        services.add(new SpriteBatch(services));
+        renderer = headless ? null : new BatchRenderer(services);
+        final CollisionGrid grid = services.add(new CollisionGrid(camera));
+        bullets = services.add(new BulletEngine(services));
 
         final double underMapHeight = -camera.getHeight() * 1.5;
         camera.teleport(0, underMapHeight);
 
-        final Featurable ship = factory.create(Medias.create(Constant.FOLDER_SHIP, "stalker.xml"));
+        final Featurable ship = factory.create(shipMedia);
         handler.add(ship);
         services.add(ship.getFeature(ShipModel.class));
+        sampler = services.getOptional(InputSampler.class);
+        enemyFire = services.add(new EnemyFire(services));
 
-        hud = new Hud(services);
+        for (final Media media : SPAWN_ENTITIES)
+        {
+            pool.prewarm(media, SPAWN_PREWARM);
+        }
+        for (final Media media : SPAWN_BONUS)
+        {
+            pool.prewarm(media, 1);
+        }
 
-        Map.generate(services, "level1");
+        handler.addComponent(grid);
+        handler.addListener(grid);
+        handler.addListener(this);
 
-        camera.setView(0,
-                       0,
-                       source.getWidth(),
-                       source.getHeight() - hud.getHeight(),
-                       source.getHeight() - hud.getHeight());
+        final int hudHeight = Hud.getSurfaceHeight();
+        camera.setView(0, 0, source.getWidth(), source.getHeight() - hudHeight, source.getHeight() - hudHeight);
+
+        culler = services.add(new SceneryCuller(services));
+        streamer = services.add(Map.generate(services, THEME, Map.LEVELS, this::shift));
+        hud = headless ? null : new Hud(services);
 
         tick.start();
     }
 
+    /**
+     * Terminate world, releasing what outlives the handler: the shared enemy weapon is destroyed, and the
+     * {@link InputRecorder} service is closed if any.
+     * 
+     * @throws LionEngineException If unable to close recorder.
+     */
+    public void terminate()
+    {
+        enemyFire.terminate();
+
+        final Optional<InputRecorder> recorder = services.getOptional(InputRecorder.class);
+        if (recorder.isPresent())
+        {
+            try
+            {
+                recorder.get().close();
+            }
+            catch (final IOException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+        }
+    }
+
+    /**
+     * Shift the world down, as the map dropped its lowest chunks: camera, featurables, sleeping scenery and bullets.
+     * Featurables added but not yet in the handler are shifted when added, on next handler update.
+     * 
+     * @param dy The vertical shift in pixel.
+     */
+    private void shift(double dy)
+    {
+        camera.teleport(camera.getX(), camera.getY() - dy);
+        for (final Featurable featurable : handler.values())
+        {
+            shift(featurable, dy);
+        }
+        culler.shift(dy);
+        bullets.shift(dy);
+        if (!headless)
+        {
+            interpolator.shift(dy);
+        }
+        pendingShift += dy;
+    }
+
+    /**
+     * Shift featurable down if it has a location.
+     * 
+     * @param featurable The featurable to shift.
+     * @param dy The vertical shift in pixel.
+     */
+    private static void shift(Featurable featurable, double dy)
+    {
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            transformable.teleportY(transformable.getY() - dy);
+        }
+    }
+
+    /**
+     * Get a random media from array.
+     * 
+     * @param medias The medias array.
+     * @return The random media.
+     */
+    private Media getRandomMedia(List<Media> medias)
+    {
+        return medias.get(rng.nextInt(medias.size() - 1));
+    }
+
     /**
      * Spawn a random object from medias array.
      * 
@@ -146,48 +293,164 @@ public class World extends WorldHelper
         if (!medias.isEmpty())
         {
             final Media media = getRandomMedia(medias);
-            final Featurable featurable = factory.create(media);
+            final Featurable featurable = pool.acquire(media);
             featurable.getFeature(Layerable.class).setLayer(layer, layer);
             handler.add(featurable);
             final Transformable transformable = featurable.getFeature(Transformable.class);
-            final double x = UtilRandom.getRandomInteger(camera.getWidth() - transformable.getWidth() * 2)
+            final double x = rng.nextInt(camera.getWidth() - transformable.getWidth() * 2)
                              + (double) transformable.getWidth();
             final double y = camera.getY() + camera.getHeight() + transformable.getHeight();
             transformable.teleport(x, y);
         }
     }
 
-    @Override
-    public void update(double extrp)
+    /**
+     * Run one simulation step.
+     * 
+     * @param extrp The step extrapolation value.
+     */
+    private void step(double extrp)
     {
-        deviceCursor.update(extrp);
-        background.update(extrp);
-        tick.update(extrp);
+        profiler.start();
+        if (!headless)
+        {
+            background.update(extrp);
+            profiler.stop(Stage.BACKGROUND);
+        }
+        culler.update(extrp);
+        profiler.stop(Stage.MAP);
 
+        tick.update(extrp);
         if (tick.elapsed(SPAWN_DELAY))
         {
             spawn(SPAWN_ENTITIES, Constant.LAYER_ENTITIES_MOVING);
 
-            if (UtilRandom.getRandomInteger(SPAWN_BONUS_CHANCE) == 0)
+            if (rng.nextInt(SPAWN_BONUS_CHANCE) == 0)
             {
                 spawn(SPAWN_BONUS, Constant.LAYER_BONUS);
             }
 
             tick.restart();
         }
+        profiler.stop(Stage.SPAWN);
 
+        parallel.update(extrp);
+        profiler.stop(Stage.PARALLEL);
+
+        streamer.update(extrp);
         super.update(extrp);
+        pendingShift = 0.0;
+        enemyFire.update(extrp);
+        bullets.update(extrp);
+        profiler.stop(Stage.HANDLER);
 
-        hud.update(extrp);
+        if (!headless)
+        {
+            hud.update(extrp);
+            overlay.update(extrp);
+            profiler.stop(Stage.HUD);
+        }
+    }
+
+    /**
+     * Sample input devices, once per update.
+     * 
+     * @param extrp The update extrapolation value.
+     */
+    private void sample(double extrp)
+    {
+        profiler.start();
+        deviceCursor.update(extrp);
+        if (deviceCursor.isFiredOnce(DeviceMapping.ACTION_MIDDLE.getIndex()))
+        {
+            overlay.toggle();
+        }
+        if (sampler.isPresent())
+        {
+            sampler.get().sample(extrp);
+        }
+        profiler.stop(Stage.CURSOR);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Late time beyond {@link #MAX_STEPS} is dropped and counted by the {@link FrameProfiler}.
+     * </p>
+     */
+    @Override
+    public void update(double extrp)
+    {
+        if (!headless)
+        {
+            sample(extrp);
+        }
+        accumulated += extrp;
+        int steps = 0;
+        while (accumulated >= STEP && steps < MAX_STEPS)
+        {
+            if (!headless)
+            {
+                interpolator.snapshot();
+            }
+            step(STEP);
+            accumulated -= STEP;
+            steps++;
+        }
+        if (accumulated > STEP)
+        {
+            profiler.drop(accumulated - STEP);
+            accumulated = STEP;
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Nothing is rendered when headless. Handled featurables are rendered by the {@link BatchRenderer} instead of the
+     * handler.
+     * </p>
+     */
     @Override
     public void render(Graphic g)
     {
+        if (headless)
+        {
+            return;
+        }
+        interpolator.apply(Math.min(accumulated / STEP, 1.0));
+
+        profiler.start();
         background.render(g);
+        profiler.stop(Stage.RENDER_BACKGROUND);
 
-        super.render(g);
+        renderer.render(g);
+        profiler.stop(Stage.RENDER_HANDLER);
 
         hud.render(g);
+        profiler.stop(Stage.RENDER_HUD);
+
+        overlay.render(g);
+
+        interpolator.restore();
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (Double.compare(pendingShift, 0.0) != 0)
+        {
+            shift(featurable, pendingShift);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        // Nothing to do
     }
 }
@@ -16,11 +16,16 @@
  */
 package com.b3dgs.tyrian.background;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Range;
 import com.b3dgs.lionengine.Updatable;
 import com.b3dgs.lionengine.UtilMath;
-import com.b3dgs.lionengine.UtilRandom;
 import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.Graphic;
@@ -30,12 +35,19 @@ import com.b3dgs.lionengine.graphic.Renderable;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
 import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.Rng;
 
 /**
  * Background implementation with scrolling stars.
+ * <p>
+ * Star tiles sharing the same speed are composited in one layer. Each layer only stores the horizontal strips that
+ * contain stars, packed one below the other, and only these strips are drawn. Layers without stars are dropped.
+ * </p>
  */
 public final class Background implements Updatable, Renderable
 {
+    /** Seed salt of the background generator, derived from world one with {@link Rng#derive(long)}. */
+    public static final long SEED_SALT = 0x5EEDBAC6L;
     /** Color background. */
     private static final ColorRgba COLOR = new ColorRgba(0, 0, 0);
     /** Default star density. */
@@ -48,16 +60,22 @@ public final class Background implements Updatable, Renderable
     private final SpriteTiled surface;
     private final Star[] stars = new Star[DENSITY];
     private final Viewer viewer;
+    private final int width;
     private final ImageBuffer[] layers;
     private final double[] speed;
     private final double[] y;
+    private final int[][] stripY;
+    private final int[][] stripHeight;
+    private final int[][] stripOffset;
 
     /**
      * Create a background.
      * 
      * @param viewer The viewer reference.
+     * @param rng The random reference, owned by background (must not be the gameplay one, as background is skipped
+     *            when headless).
      */
-    public Background(Viewer viewer)
+    public Background(Viewer viewer, Rng rng)
     {
         super();
 
@@ -70,42 +88,144 @@ public final class Background implements Updatable, Renderable
 
         final int minX = -surface.getTileWidth() - (int) Constant.MARGIN_H;
         final int maxX = viewer.getWidth() + surface.getTileWidth() * 2 + (int) Constant.MARGIN_H;
-        final int layersNumber = surface.getTilesHorizontal() * surface.getTilesVertical();
+        final int tilesNumber = surface.getTilesHorizontal() * surface.getTilesVertical();
+        width = maxX - minX;
 
         for (int i = 0; i < stars.length; i++)
         {
             stars[i] = new Star(new Range(minX, maxX),
                                 new Range(surface.getTileHeight(), viewer.getHeight() + surface.getTileHeight()),
                                 0.0,
-                                UtilRandom.getRandomInteger(VY_SPEED) / VY_DIVISOR,
-                                UtilRandom.getRandomInteger(0, layersNumber));
+                                rng.nextInt(VY_SPEED) / VY_DIVISOR,
+                                rng.nextInt(0, tilesNumber),
+                                rng);
+        }
+        for (final Star star : stars)
+        {
+            star.update(1.0);
         }
+
+        final Map<Double, List<Star>> bySpeed = groupBySpeed(tilesNumber);
+        final int layersNumber = bySpeed.size();
         layers = new ImageBuffer[layersNumber];
         speed = new double[layersNumber];
         y = new double[layersNumber];
-        for (final Star star : stars)
+        stripY = new int[layersNumber][];
+        stripHeight = new int[layersNumber][];
+        stripOffset = new int[layersNumber][];
+
+        int i = 0;
+        for (final Map.Entry<Double, List<Star>> entry : bySpeed.entrySet())
         {
-            star.update(1.0);
+            speed[i] = entry.getKey().doubleValue();
+            createLayer(i, entry.getValue());
+            i++;
         }
+    }
+
+    /**
+     * Group visible stars by tile speed, ignoring speeds without star.
+     * 
+     * @param tilesNumber The number of star tiles.
+     * @return The stars by speed, sorted by vertical location.
+     */
+    private Map<Double, List<Star>> groupBySpeed(int tilesNumber)
+    {
         final double factor = 0.5;
-        for (int i = 0; i < layersNumber; i++)
+        final Map<Double, List<Star>> bySpeed = new LinkedHashMap<>();
+        for (int i = 0; i < tilesNumber; i++)
         {
-            final ImageBuffer buffer = Graphics.createImageBuffer(maxX - minX,
-                                                                  viewer.getHeight(),
-                                                                  ColorRgba.TRANSPARENT);
-            layers[i] = buffer;
-            speed[i] = layersNumber - i * factor;
-            final Graphic g = buffer.createGraphic();
+            final Double tileSpeed = Double.valueOf(tilesNumber - i * factor);
             for (final Star star : stars)
             {
-                if (star.getId() == i)
+                if (star.getId() == i && star.getY() < viewer.getHeight())
                 {
-                    surface.setLocation(star.getX(), star.getY());
-                    surface.setTile(i);
-                    surface.render(g);
+                    bySpeed.computeIfAbsent(tileSpeed, s -> new ArrayList<>()).add(star);
                 }
             }
-            g.dispose();
+        }
+        for (final List<Star> list : bySpeed.values())
+        {
+            list.sort(Comparator.comparingDouble(Star::getY));
+        }
+        return bySpeed;
+    }
+
+    /**
+     * Create a layer with its stars, merging overlapping star rows in strips.
+     * 
+     * @param index The layer index.
+     * @param layerStars The layer stars, sorted by vertical location.
+     */
+    private void createLayer(int index, List<Star> layerStars)
+    {
+        final int tileHeight = surface.getTileHeight();
+        final int[] starsY = new int[layerStars.size()];
+        final int[] starsStrip = new int[layerStars.size()];
+        final List<int[]> strips = new ArrayList<>();
+        int[] current = null;
+        for (int i = 0; i < starsY.length; i++)
+        {
+            starsY[i] = (int) layerStars.get(i).getY();
+            final int bottom = Math.min(starsY[i] + tileHeight, viewer.getHeight());
+            if (current == null || starsY[i] > current[1])
+            {
+                current = new int[]
+                {
+                    starsY[i], bottom
+                };
+                strips.add(current);
+            }
+            else
+            {
+                current[1] = Math.max(current[1], bottom);
+            }
+            starsStrip[i] = strips.size() - 1;
+        }
+
+        stripY[index] = new int[strips.size()];
+        stripHeight[index] = new int[strips.size()];
+        stripOffset[index] = new int[strips.size()];
+        int offset = 0;
+        for (int i = 0; i < strips.size(); i++)
+        {
+            stripY[index][i] = strips.get(i)[0];
+            stripHeight[index][i] = strips.get(i)[1] - strips.get(i)[0];
+            stripOffset[index][i] = offset;
+            offset += stripHeight[index][i];
+        }
+
+        final ImageBuffer buffer = Graphics.createImageBuffer(width, offset, ColorRgba.TRANSPARENT);
+        final Graphic g = buffer.createGraphic();
+        for (int i = 0; i < starsY.length; i++)
+        {
+            final Star star = layerStars.get(i);
+            final int strip = starsStrip[i];
+            surface.setLocation(star.getX(), stripOffset[index][strip] + starsY[i] - stripY[index][strip]);
+            surface.setTile(star.getId());
+            surface.render(g);
+        }
+        g.dispose();
+        layers[index] = buffer;
+    }
+
+    /**
+     * Render a layer strip if visible.
+     * 
+     * @param g The graphic output.
+     * @param layer The layer index.
+     * @param strip The strip index.
+     * @param x The horizontal location.
+     * @param offsetY The layer vertical location.
+     */
+    private void renderStrip(Graphic g, int layer, int strip, int x, int offsetY)
+    {
+        final int dy = offsetY + stripY[layer][strip];
+        final int height = stripHeight[layer][strip];
+        if (dy + height > 0 && dy < viewer.getHeight())
+        {
+            final int sy = stripOffset[layer][strip];
+            g.drawImage(layers[layer], x, dy, x + width, dy + height, 0, sy, width, sy + height);
         }
     }
 
@@ -124,10 +244,15 @@ public final class Background implements Updatable, Renderable
         g.setColor(COLOR);
         g.drawRect(0, 0, viewer.getWidth(), viewer.getHeight(), true);
 
+        final int x = (int) viewer.getViewpointX(0.0);
         for (int i = 0; i < layers.length; i++)
         {
-            g.drawImage(layers[i], (int) viewer.getViewpointX(0.0), (int) y[i]);
-            g.drawImage(layers[i], (int) viewer.getViewpointX(0.0), (int) y[i] - viewer.getHeight());
+            final int offsetY = (int) y[i];
+            for (int strip = 0; strip < stripY[i].length; strip++)
+            {
+                renderStrip(g, i, strip, x, offsetY);
+                renderStrip(g, i, strip, x, offsetY - viewer.getHeight());
+            }
         }
     }
 }
@@ -19,7 +19,7 @@ package com.b3dgs.tyrian.background;
 import com.b3dgs.lionengine.Localizable;
 import com.b3dgs.lionengine.Range;
 import com.b3dgs.lionengine.Updatable;
-import com.b3dgs.lionengine.UtilRandom;
+import com.b3dgs.tyrian.Rng;
 
 /**
  * Star implementation.
@@ -36,6 +36,8 @@ final class Star implements Updatable, Localizable
     private final double vy;
     /** Star id. */
     private final int id;
+    /** Random reference. */
+    private final Rng rng;
     /** Horizontal location. */
     private double x;
     /** Vertical location. */
@@ -49,8 +51,9 @@ final class Star implements Updatable, Localizable
      * @param vx The horizontal vector.
      * @param vy The vertical vector.
      * @param id The id.
+     * @param rng The random reference.
      */
-    Star(Range h, Range v, double vx, double vy, int id)
+    Star(Range h, Range v, double vx, double vy, int id, Rng rng)
     {
         super();
 
@@ -59,8 +62,9 @@ final class Star implements Updatable, Localizable
         this.vx = vx;
         this.vy = vy;
         this.id = id;
-        x = UtilRandom.getRandomInteger(h);
-        y = UtilRandom.getRandomInteger(v);
+        this.rng = rng;
+        x = rng.nextInt(h);
+        y = rng.nextInt(v);
     }
 
     /**
@@ -81,7 +85,7 @@ final class Star implements Updatable, Localizable
         if (y < v.getMin())
         {
             y = v.getMax();
-            x = UtilRandom.getRandomInteger(h);
+            x = rng.nextInt(h);
         }
     }
 
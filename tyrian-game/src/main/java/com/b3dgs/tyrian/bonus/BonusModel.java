@@ -17,22 +17,23 @@
 package com.b3dgs.tyrian.bonus;
 
 import com.b3dgs.lionengine.LionEngineException;
-import com.b3dgs.lionengine.game.AnimationConfig;
 import com.b3dgs.lionengine.game.feature.Animatable;
 import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
 import com.b3dgs.lionengine.game.feature.Identifiable;
-import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.CommandBuffer;
+import com.b3dgs.tyrian.ConfigCache;
+import com.b3dgs.tyrian.ParallelRoutine;
 
 /**
  * Bonus model implementation.
  */
 @FeatureInterface
-public final class BonusModel extends FeatureModel implements RoutineUpdate
+public final class BonusModel extends FeatureModel implements ParallelRoutine
 {
     private static final String ANIM_IDLE = "idle";
     private static final double FALLING_SPEED = -1.0;
@@ -63,21 +64,18 @@ public final class BonusModel extends FeatureModel implements RoutineUpdate
         this.identifiable = identifiable;
         this.transformable = transformable;
 
-        final AnimationConfig animConfig = AnimationConfig.imports(setup);
-        if (animConfig.hasAnimation(ANIM_IDLE))
-        {
-            animatable.play(animConfig.getAnimation(ANIM_IDLE));
-        }
+        ConfigCache.getAnimation(setup, ANIM_IDLE).ifPresent(animatable::play);
     }
 
     @Override
-    public void update(double extrp)
+    public void update(double extrp, CommandBuffer commands)
     {
-        transformable.moveLocation(extrp, 0.0, FALLING_SPEED);
+        final double vy = FALLING_SPEED * extrp;
+        commands.move(transformable, 0.0, vy);
 
-        if (camera.getViewpointY(transformable.getY() + transformable.getHeight()) > camera.getHeight())
+        if (camera.getViewpointY(transformable.getY() + vy + transformable.getHeight()) > camera.getHeight())
         {
-            identifiable.destroy();
+            commands.destroy(identifiable);
         }
     }
 }
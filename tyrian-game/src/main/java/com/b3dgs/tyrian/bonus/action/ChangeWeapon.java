@@ -16,6 +16,8 @@
  */
 package com.b3dgs.tyrian.bonus.action;
 
+import java.util.Optional;
+
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
@@ -26,6 +28,7 @@ import com.b3dgs.lionengine.game.feature.FeatureModel;
 import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.tyrian.ConfigCache;
 import com.b3dgs.tyrian.Constant;
 import com.b3dgs.tyrian.entity.ShipModel;
 import com.b3dgs.tyrian.entity.WeaponModel;
@@ -59,22 +62,30 @@ public final class ChangeWeapon extends FeatureModel implements Action
 
         this.identifiable = identifiable;
 
+        media = ConfigCache.get(setup, ChangeWeapon.class, ChangeWeapon::importWeapon).orElse(null);
+    }
+
+    /**
+     * Import weapon media.
+     * 
+     * @param setup The setup reference.
+     * @return The weapon media, empty if none.
+     */
+    private static Optional<Media> importWeapon(Setup setup)
+    {
         if (setup.hasNode(NODE_WEAPON_FRONT))
         {
-            media = Medias.create(Constant.FOLDER_WEAPON,
-                                  Constant.FOLDER_FRONT,
-                                  setup.getText(NODE_WEAPON_FRONT) + Factory.FILE_DATA_DOT_EXTENSION);
-        }
-        else if (setup.hasNode(NODE_WEAPON_REAR))
-        {
-            media = Medias.create(Constant.FOLDER_WEAPON,
-                                  Constant.FOLDER_REAR,
-                                  setup.getText(NODE_WEAPON_REAR) + Factory.FILE_DATA_DOT_EXTENSION);
+            return Optional.of(Medias.create(Constant.FOLDER_WEAPON,
+                                             Constant.FOLDER_FRONT,
+                                             setup.getText(NODE_WEAPON_FRONT) + Factory.FILE_DATA_DOT_EXTENSION));
         }
-        else
+        if (setup.hasNode(NODE_WEAPON_REAR))
         {
-            media = null;
+            return Optional.of(Medias.create(Constant.FOLDER_WEAPON,
+                                             Constant.FOLDER_REAR,
+                                             setup.getText(NODE_WEAPON_REAR) + Factory.FILE_DATA_DOT_EXTENSION));
         }
+        return Optional.empty();
     }
 
     @Override
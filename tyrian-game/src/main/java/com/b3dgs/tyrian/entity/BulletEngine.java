@@ -0,0 +1,445 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.Direction;
+import com.b3dgs.lionengine.game.DirectionNone;
+import com.b3dgs.lionengine.game.FramesConfig;
+import com.b3dgs.lionengine.game.SurfaceConfig;
+import com.b3dgs.lionengine.game.feature.DisplayableModel;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.FeaturableAbstract;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.LayerableModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Renderable;
+import com.b3dgs.tyrian.CollisionGrid;
+import com.b3dgs.tyrian.CollisionShape;
+import com.b3dgs.tyrian.ConfigCache;
+import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.SpriteBatch;
+
+/**
+ * Projectiles as structure of arrays, for weapons opting in with their {@link #NODE_BULLETS} node. Bullets are not
+ * featurables: position, speed, acceleration, frame and group are kept in parallel primitive arrays, updated in one
+ * loop, and drawn through the {@link SpriteBatch} by a featurable of the {@link Constant#LAYER_PROJECTILES} layer,
+ * between the other layers as any projectile.
+ * <p>
+ * Bullets are points: the segment each one moved along during the step is tested against the collision boxes of the
+ * {@link EntityModel} and {@link ShipModel} accepting their group, found in the {@link CollisionGrid} cells around
+ * the segment, so fast bullets do not pass through thin targets. Bullets are updated after the handler, so the grid is
+ * the one rebuilt this step. Boxes are the target {@link CollisionShape}. The ship is hit at most once by update.
+ * Projectiles having an effect are not supported, their weapon keeps using featurables.
+ * </p>
+ */
+public final class BulletEngine implements Updatable, Renderable, HandlerListener
+{
+    /** Weapon bullets node name. */
+    public static final String NODE_BULLETS = "bullets";
+    /** Weapon bullets default collision group attribute name. */
+    public static final String ATT_GROUP = "group";
+    /** Unsupported projectile type. */
+    public static final int UNSUPPORTED = -1;
+    /** Collision group hitting nothing. */
+    public static final int NO_GROUP = -1;
+    /** Projectile frame attribute name. */
+    private static final String ATT_FRAME = "frame";
+    /** Projectile effect node name. */
+    private static final String NODE_EFFECT = "effect";
+    /** Default bullets capacity. */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final java.util.Map<Media, Integer> types = new HashMap<>();
+    private final java.util.Map<Media, CollisionShape> shapes = new HashMap<>();
+    private final java.util.Map<Collidable, Target> targets = new HashMap<>();
+    private final List<Collidable> candidates = new ArrayList<>();
+    private final Viewer viewer;
+    private final SpriteBatch batch;
+    private final CollisionGrid grid;
+    private int[] typeSheets = new int[0];
+    private int[] typeFrames = new int[0];
+    private double[] typeAx = new double[0];
+    private double[] typeAy = new double[0];
+    private boolean shipHit;
+
+    private double[] x = new double[DEFAULT_CAPACITY];
+    private double[] y = new double[DEFAULT_CAPACITY];
+    private double[] lastX = new double[DEFAULT_CAPACITY];
+    private double[] lastY = new double[DEFAULT_CAPACITY];
+    private double[] vx = new double[DEFAULT_CAPACITY];
+    private double[] vy = new double[DEFAULT_CAPACITY];
+    private int[] type = new int[DEFAULT_CAPACITY];
+    private int[] group = new int[DEFAULT_CAPACITY];
+    private boolean[] dead = new boolean[DEFAULT_CAPACITY];
+    private int count;
+
+    /**
+     * Create engine, listening to the handler for targets, and adding its layer to it.
+     * 
+     * @param services The services reference.
+     * @throws LionEngineException If missing services.
+     */
+    public BulletEngine(Services services)
+    {
+        super();
+
+        viewer = services.get(Viewer.class);
+        batch = services.get(SpriteBatch.class);
+        grid = services.get(CollisionGrid.class);
+
+        final Featurable layer = new FeaturableAbstract()
+        {
+            // Bullets layer only
+        };
+        layer.addFeature(new LayerableModel(Constant.LAYER_PROJECTILES.intValue()));
+        layer.addFeature(new DisplayableModel(this));
+
+        final Handler handler = services.get(Handler.class);
+        handler.addListener(this);
+        handler.add(layer);
+    }
+
+    /**
+     * Register a projectile type, once by media.
+     * 
+     * @param media The projectile media.
+     * @return The projectile type, {@link #UNSUPPORTED} if projectile has an effect.
+     * @throws LionEngineException If invalid projectile.
+     */
+    public int register(Media media)
+    {
+        final Integer existing = types.get(media);
+        if (existing != null)
+        {
+            return existing.intValue();
+        }
+
+        final Setup setup = new Setup(media);
+        if (ConfigCache.getText(setup, NODE_EFFECT).isPresent())
+        {
+            types.put(media, Integer.valueOf(UNSUPPORTED));
+            return UNSUPPORTED;
+        }
+
+        final FramesConfig frames = FramesConfig.imports(setup);
+        final int index = typeSheets.length;
+        final Direction acceleration = ConfigCache.getForce(setup, DirectionNone.INSTANCE);
+        typeSheets = Arrays.copyOf(typeSheets, index + 1);
+        typeFrames = Arrays.copyOf(typeFrames, index + 1);
+        typeAx = Arrays.copyOf(typeAx, index + 1);
+        typeAy = Arrays.copyOf(typeAy, index + 1);
+        final Media surface = Medias.create(media.getParentPath(), SurfaceConfig.imports(setup).getImage());
+        typeSheets[index] = batch.register(surface, frames.getHorizontal(), frames.getVertical());
+        typeFrames[index] = ConfigCache.getInteger(setup, ATT_FRAME, SurfaceConfig.NODE_SURFACE);
+        typeAx[index] = acceleration.getDirectionHorizontal();
+        typeAy[index] = acceleration.getDirectionVertical();
+        types.put(media, Integer.valueOf(index));
+
+        return index;
+    }
+
+    /**
+     * Launch a bullet.
+     * 
+     * @param bulletType The projectile type, as registered.
+     * @param bulletX The horizontal location.
+     * @param bulletY The vertical location.
+     * @param speedX The horizontal speed.
+     * @param speedY The vertical speed.
+     * @param collisionGroup The collision group ({@link #NO_GROUP} to hit nothing).
+     */
+    public void launch(int bulletType, double bulletX, double bulletY, double speedX, double speedY, int collisionGroup)
+    {
+        if (count == x.length)
+        {
+            grow(count * 2);
+        }
+        x[count] = bulletX;
+        y[count] = bulletY;
+        lastX[count] = bulletX;
+        lastY[count] = bulletY;
+        vx[count] = speedX;
+        vy[count] = speedY;
+        type[count] = bulletType;
+        group[count] = collisionGroup;
+        dead[count] = false;
+        count++;
+    }
+
+    /**
+     * Shift bullets down, as the map dropped its lowest chunks.
+     * 
+     * @param dy The vertical shift in pixel.
+     */
+    public void shift(double dy)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            y[i] -= dy;
+            lastY[i] -= dy;
+        }
+    }
+
+    /**
+     * Get the number of active bullets.
+     * 
+     * @return The active bullets.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Remove all bullets.
+     */
+    public void clear()
+    {
+        count = 0;
+    }
+
+    /**
+     * Grow arrays.
+     * 
+     * @param capacity The new capacity.
+     */
+    private void grow(int capacity)
+    {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        lastX = Arrays.copyOf(lastX, capacity);
+        lastY = Arrays.copyOf(lastY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        type = Arrays.copyOf(type, capacity);
+        group = Arrays.copyOf(group, capacity);
+        dead = Arrays.copyOf(dead, capacity);
+    }
+
+    /**
+     * Move all bullets, keeping their previous location.
+     * 
+     * @param extrp The extrapolation value.
+     */
+    private void move(double extrp)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            final int t = type[i];
+            lastX[i] = x[i];
+            lastY[i] = y[i];
+            x[i] += vx[i] * extrp;
+            y[i] += vy[i] * extrp;
+            vx[i] += typeAx[t] * extrp;
+            vy[i] += typeAy[t] * extrp;
+        }
+    }
+
+    /**
+     * Test the segment moved by all bullets against the targets around it, marking the ones hitting as dead.
+     */
+    private void collide()
+    {
+        shipHit = false;
+        for (int i = 0; i < count; i++)
+        {
+            grid.getAccepting(lastX[i], lastY[i], x[i], y[i], group[i], candidates);
+            final int n = candidates.size();
+            for (int c = 0; c < n && !dead[i]; c++)
+            {
+                final Target target = targets.get(candidates.get(c));
+                if (target != null && target.crosses(lastX[i], lastY[i], x[i], y[i]))
+                {
+                    dead[i] = hit(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply a bullet hit on target.
+     * 
+     * @param target The hit target.
+     * @return <code>true</code> if hit applied, <code>false</code> if target ignores it.
+     */
+    private boolean hit(Target target)
+    {
+        if (target.entity != null)
+        {
+            if (target.entity.isAlive())
+            {
+                target.entity.hit();
+                return true;
+            }
+        }
+        else if (!shipHit)
+        {
+            shipHit = true;
+            target.ship.hitByProjectile();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove dead and out of view bullets, keeping order.
+     */
+    private void compact()
+    {
+        final double minX = viewer.getX();
+        final double maxX = minX + viewer.getWidth();
+        final double minY = viewer.getY();
+        final double maxY = minY + viewer.getHeight();
+
+        int kept = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (!dead[i] && x[i] >= minX && x[i] <= maxX && y[i] >= minY && y[i] <= maxY)
+            {
+                if (kept != i)
+                {
+                    x[kept] = x[i];
+                    y[kept] = y[i];
+                    lastX[kept] = lastX[i];
+                    lastY[kept] = lastY[i];
+                    vx[kept] = vx[i];
+                    vy[kept] = vy[i];
+                    type[kept] = type[i];
+                    group[kept] = group[i];
+                    dead[kept] = false;
+                }
+                kept++;
+            }
+        }
+        count = kept;
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        move(extrp);
+        collide();
+        compact();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Bullets are recorded in the {@link SpriteBatch}, which is rendered.
+     * </p>
+     */
+    @Override
+    public void render(Graphic g)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            final int t = type[i];
+            batch.draw(typeSheets[t],
+                       typeFrames[t],
+                       (int) Math.floor(viewer.getViewpointX(x[i])),
+                       (int) Math.floor(viewer.getViewpointY(y[i])));
+        }
+        batch.render(g);
+    }
+
+    /*
+     * HandlerListener
+     */
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        final boolean entity = featurable.hasFeature(EntityModel.class);
+        if (entity || featurable.hasFeature(ShipModel.class))
+        {
+            final CollisionShape shape = shapes.computeIfAbsent(featurable.getMedia(),
+                                                                media -> CollisionShape.imports(new Setup(media)));
+            targets.put(featurable.getFeature(Collidable.class),
+                        new Target(featurable.getFeature(Transformable.class),
+                                   shape,
+                                   entity ? featurable.getFeature(EntityModel.class) : null,
+                                   entity ? null : featurable.getFeature(ShipModel.class)));
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Collidable.class))
+        {
+            targets.remove(featurable.getFeature(Collidable.class));
+        }
+    }
+
+    /**
+     * Bullets target, entity or ship, with its collision boxes.
+     */
+    private static final class Target
+    {
+        private final Transformable transformable;
+        private final CollisionShape shape;
+        private final EntityModel entity;
+        private final ShipModel ship;
+
+        /**
+         * Create target.
+         * 
+         * @param transformable The target transformable.
+         * @param shape The collision shape.
+         * @param entity The entity model (<code>null</code> if ship).
+         * @param ship The ship model (<code>null</code> if entity).
+         */
+        Target(Transformable transformable, CollisionShape shape, EntityModel entity, ShipModel ship)
+        {
+            super();
+
+            this.transformable = transformable;
+            this.shape = shape;
+            this.entity = entity;
+            this.ship = ship;
+        }
+
+        /**
+         * Check if segment crosses one of the collision boxes.
+         * 
+         * @param x1 The segment start horizontal location.
+         * @param y1 The segment start vertical location.
+         * @param x2 The segment end horizontal location.
+         * @param y2 The segment end vertical location.
+         * @return <code>true</code> if crossing, <code>false</code> else.
+         */
+        boolean crosses(double x1, double y1, double x2, double y2)
+        {
+            return shape.crosses(transformable.getX(), transformable.getY(), x1, y1, x2, y2) >= 0;
+        }
+    }
+}
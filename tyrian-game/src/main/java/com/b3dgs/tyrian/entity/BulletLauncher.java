@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Localizable;
+import com.b3dgs.lionengine.Tick;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.Direction;
+import com.b3dgs.lionengine.game.Force;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.launchable.LaunchableConfig;
+import com.b3dgs.lionengine.game.feature.launchable.LauncherConfig;
+import com.b3dgs.lionengine.game.feature.launchable.LauncherListener;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+
+/**
+ * Launcher of a weapon firing through the {@link BulletEngine}, used instead of the engine launcher as bullets are not
+ * featurables. Levels, fire delay and launchable delays are read from the same launcher configurations. The launch
+ * speed is the configured vector added to the initial speed, or the configured vector directed toward the target,
+ * computed as the engine launcher does. Bullets keep a constant speed, so this vector is used from launch.
+ * <p>
+ * Shared fire launches for several sources, ignoring the fire delay, each delayed launch keeping its own source and
+ * target.
+ * </p>
+ */
+final class BulletLauncher implements Updatable
+{
+    /** Default shared delayed launches capacity. */
+    private static final int SHARED_CAPACITY = 16;
+    /** Milliseconds per second. */
+    private static final double MILLI_PER_SECOND = 1000.0;
+
+    private final List<LauncherListener> listeners = new ArrayList<>();
+    private final List<LaunchListener> listenersLaunch = new ArrayList<>();
+    private final Tick tick = new Tick();
+    private final SourceResolutionProvider source;
+    private final BulletEngine bullets;
+    private final LauncherConfig[] levels;
+    private final int[][] types;
+    private final Transformable transformable;
+
+    private LauncherConfig current;
+    private LaunchableConfig[] launchables;
+    private int[] launchableTypes;
+    private boolean[] pending;
+    private double pendingVx;
+    private double pendingVy;
+    private Localizable pendingTarget;
+    private Localizable[] sharedFrom = new Localizable[SHARED_CAPACITY];
+    private Localizable[] sharedTarget = new Localizable[SHARED_CAPACITY];
+    private int[] sharedIndex = new int[SHARED_CAPACITY];
+    private double[] sharedRemaining = new double[SHARED_CAPACITY];
+    private int sharedCount;
+    private int group = BulletEngine.NO_GROUP;
+    private double speedX;
+    private double speedY;
+
+    /**
+     * Create launcher.
+     * 
+     * @param services The services reference.
+     * @param levels The launcher configurations by level (<code>null</code> if level undefined).
+     * @param types The bullet types by level, for each launchable.
+     * @param transformable The weapon location.
+     * @throws LionEngineException If missing services.
+     */
+    BulletLauncher(Services services, LauncherConfig[] levels, int[][] types, Transformable transformable)
+    {
+        super();
+
+        source = services.get(SourceResolutionProvider.class);
+        bullets = services.get(BulletEngine.class);
+        this.levels = levels;
+        this.types = types;
+        this.transformable = transformable;
+    }
+
+    /**
+     * Add a listener notified on each fire.
+     * 
+     * @param listener The listener to add.
+     */
+    void addListener(LauncherListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Add a listener notified for each launched bullet.
+     * 
+     * @param listener The listener to add.
+     */
+    void addListener(LaunchListener listener)
+    {
+        listenersLaunch.add(listener);
+    }
+
+    /**
+     * Set the collision group of the launched bullets.
+     * 
+     * @param group The collision group, {@link BulletEngine#NO_GROUP} to hit nothing.
+     */
+    void setGroup(int group)
+    {
+        this.group = group;
+    }
+
+    /**
+     * Set the fired level. Pending delayed launches of previous level are dropped.
+     * 
+     * @param level The defined level.
+     */
+    void setLevel(int level)
+    {
+        current = levels[level];
+        launchables = current.getLaunchables().toArray(new LaunchableConfig[0]);
+        launchableTypes = types[level];
+        pending = new boolean[launchables.length];
+    }
+
+    /**
+     * Fire current level if fire delay elapsed.
+     * 
+     * @param initial The initial speed.
+     */
+    void fire(Direction initial)
+    {
+        if (canFire())
+        {
+            fire(initial.getDirectionHorizontal(), initial.getDirectionVertical(), null);
+        }
+    }
+
+    /**
+     * Fire current level toward target if fire delay elapsed.
+     * 
+     * @param target The fire target.
+     */
+    void fire(Localizable target)
+    {
+        if (canFire())
+        {
+            fire(0.0, 0.0, target);
+        }
+    }
+
+    /**
+     * Fire current level from a source toward its target, ignoring fire delay.
+     * 
+     * @param from The fire source.
+     * @param target The fire target.
+     */
+    void fireShared(Localizable from, Localizable target)
+    {
+        transformable.setLocation(from.getX(), from.getY());
+        notifyFired();
+        for (int i = 0; i < launchables.length; i++)
+        {
+            if (launchables[i].getDelay() > 0)
+            {
+                addShared(from, target, i);
+            }
+            else
+            {
+                launch(i, 0.0, 0.0, target);
+            }
+        }
+    }
+
+    /**
+     * Get the number of shared delayed launches not launched yet.
+     * 
+     * @return The pending shared launches.
+     */
+    int getSharedPending()
+    {
+        return sharedCount;
+    }
+
+    /**
+     * Check if fire delay elapsed.
+     * 
+     * @return <code>true</code> if can fire, <code>false</code> else.
+     */
+    private boolean canFire()
+    {
+        return !tick.isStarted() || tick.elapsedTime(source.getRate(), current.getDelay());
+    }
+
+    /**
+     * Fire all launchables of current level, delayed ones are launched on update.
+     * 
+     * @param vx The initial horizontal speed.
+     * @param vy The initial vertical speed.
+     * @param target The target reference (<code>null</code> if none).
+     */
+    private void fire(double vx, double vy, Localizable target)
+    {
+        tick.restart();
+        pendingVx = vx;
+        pendingVy = vy;
+        pendingTarget = target;
+
+        notifyFired();
+        for (int i = 0; i < launchables.length; i++)
+        {
+            if (launchables[i].getDelay() > 0)
+            {
+                pending[i] = true;
+            }
+            else
+            {
+                launch(i, vx, vy, target);
+            }
+        }
+    }
+
+    /**
+     * Notify listeners of a fire.
+     */
+    private void notifyFired()
+    {
+        final int n = listeners.size();
+        for (int i = 0; i < n; i++)
+        {
+            listeners.get(i).notifyFired();
+        }
+    }
+
+    /**
+     * Launch a bullet from the weapon location.
+     * 
+     * @param index The launchable index in current level.
+     * @param vx The initial horizontal speed.
+     * @param vy The initial vertical speed.
+     * @param target The target reference (<code>null</code> if none).
+     */
+    private void launch(int index, double vx, double vy, Localizable target)
+    {
+        final LaunchableConfig config = launchables[index];
+        final double x = transformable.getX() + config.getOffsetX();
+        final double y = transformable.getY() + config.getOffsetY();
+        computeSpeed(config.getVector(), x, y, vx, vy, target);
+        bullets.launch(launchableTypes[index], x, y, speedX, speedY, group);
+
+        final int n = listenersLaunch.size();
+        for (int i = 0; i < n; i++)
+        {
+            listenersLaunch.get(i).notifyLaunched(x, y);
+        }
+    }
+
+    /**
+     * Compute the launch speed as the engine launcher: the vector added to the initial speed, or the vector scaled on
+     * each axis by the direction toward the target, normalized on its longest axis.
+     * 
+     * @param vector The configured vector.
+     * @param x The launch horizontal location.
+     * @param y The launch vertical location.
+     * @param vx The initial horizontal speed.
+     * @param vy The initial vertical speed.
+     * @param target The target reference (<code>null</code> if none).
+     */
+    private void computeSpeed(Force vector, double x, double y, double vx, double vy, Localizable target)
+    {
+        if (target == null)
+        {
+            speedX = vector.getDirectionHorizontal() + vx;
+            speedY = vector.getDirectionVertical() + vy;
+        }
+        else
+        {
+            final double dx = target.getX() - x;
+            final double dy = target.getY() - y;
+            final double dist = Math.max(Math.max(Math.abs(dx), Math.abs(dy)), 1.0);
+            speedX = dx / dist * vector.getDirectionHorizontal();
+            speedY = dy / dist * vector.getDirectionVertical();
+        }
+    }
+
+    /**
+     * Add a shared delayed launch.
+     * 
+     * @param from The fire source.
+     * @param target The fire target.
+     * @param index The launchable index in current level.
+     */
+    private void addShared(Localizable from, Localizable target, int index)
+    {
+        if (sharedCount == sharedFrom.length)
+        {
+            final int capacity = sharedCount * 2;
+            sharedFrom = Arrays.copyOf(sharedFrom, capacity);
+            sharedTarget = Arrays.copyOf(sharedTarget, capacity);
+            sharedIndex = Arrays.copyOf(sharedIndex, capacity);
+            sharedRemaining = Arrays.copyOf(sharedRemaining, capacity);
+        }
+        sharedFrom[sharedCount] = from;
+        sharedTarget[sharedCount] = target;
+        sharedIndex[sharedCount] = index;
+        sharedRemaining[sharedCount] = launchables[index].getDelay() * source.getRate() / MILLI_PER_SECOND;
+        sharedCount++;
+    }
+
+    /**
+     * Launch elapsed shared delayed launches, in fire order.
+     * 
+     * @param extrp The extrapolation value.
+     */
+    private void updateShared(double extrp)
+    {
+        int kept = 0;
+        for (int i = 0; i < sharedCount; i++)
+        {
+            sharedRemaining[i] -= extrp;
+            if (sharedRemaining[i] <= 0.0)
+            {
+                if (sharedIndex[i] < launchables.length)
+                {
+                    transformable.setLocation(sharedFrom[i].getX(), sharedFrom[i].getY());
+                    launch(sharedIndex[i], 0.0, 0.0, sharedTarget[i]);
+                }
+            }
+            else
+            {
+                sharedFrom[kept] = sharedFrom[i];
+                sharedTarget[kept] = sharedTarget[i];
+                sharedIndex[kept] = sharedIndex[i];
+                sharedRemaining[kept] = sharedRemaining[i];
+                kept++;
+            }
+        }
+        Arrays.fill(sharedFrom, kept, sharedCount, null);
+        Arrays.fill(sharedTarget, kept, sharedCount, null);
+        sharedCount = kept;
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        tick.update(extrp);
+
+        for (int i = 0; i < launchables.length; i++)
+        {
+            if (pending[i] && tick.elapsedTime(source.getRate(), launchables[i].getDelay()))
+            {
+                pending[i] = false;
+                launch(i, pendingVx, pendingVy, pendingTarget);
+            }
+        }
+        updateShared(extrp);
+    }
+}
@@ -20,7 +20,6 @@ import com.b3dgs.lionengine.AnimState;
 import com.b3dgs.lionengine.Animation;
 import com.b3dgs.lionengine.AnimatorStateListener;
 import com.b3dgs.lionengine.Localizable;
-import com.b3dgs.lionengine.game.AnimationConfig;
 import com.b3dgs.lionengine.game.feature.Animatable;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
@@ -28,20 +27,27 @@ import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.ConfigCache;
+import com.b3dgs.tyrian.FeaturablePool;
 
 /**
- * Effect model implementation.
+ * Effect model implementation. Effect is destroyed once its animation is finished, which returns it to the
+ * {@link FeaturablePool}. Each start is a new run, so a spawner can check its own run ended even if the effect has
+ * been reacquired since.
  */
 @FeatureInterface
 public final class EffectModel extends FeatureModel
 {
     /** Explode node name. */
     public static final String NODE_EXPLODE = "explode";
+    /** Default maximum pooled effects per media. */
+    private static final int POOL_MAX = 32;
 
     private final Transformable transformable;
     private final Animatable animatable;
 
     private final Animation anim;
+    private int run;
 
     /**
      * Create an effect.
@@ -63,7 +69,9 @@ public final class EffectModel extends FeatureModel
         this.transformable = transformable;
         this.animatable = animatable;
 
-        anim = AnimationConfig.imports(setup).getAnimation("start");
+        anim = ConfigCache.getAnimations(setup).getAnimation("start");
+
+        services.get(FeaturablePool.class).setLimit(setup, POOL_MAX);
 
         animatable.addListener((AnimatorStateListener) state ->
         {
@@ -78,20 +86,24 @@ public final class EffectModel extends FeatureModel
      * Start the effect.
      * 
      * @param localizable The localizable reference.
+     * @return The run number, to check its end with {@link #isFinished(int)}.
      */
-    public void start(Localizable localizable)
+    public int start(Localizable localizable)
     {
         transformable.setLocation(localizable.getX(), localizable.getY());
         animatable.play(anim);
+        run++;
+        return run;
     }
 
     /**
-     * Check if finished.
+     * Check if run is finished.
      * 
-     * @return <code>true</code> if finished, <code>false</code> else.
+     * @param started The run number returned on start.
+     * @return <code>true</code> if finished or effect restarted since, <code>false</code> else.
      */
-    public boolean isFinished()
+    public boolean isFinished(int started)
     {
-        return animatable.is(AnimState.FINISHED);
+        return run != started || animatable.is(AnimState.FINISHED);
     }
 }
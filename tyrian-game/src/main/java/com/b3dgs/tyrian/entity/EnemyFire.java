@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.entity;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Localizable;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+import com.b3dgs.tyrian.Constant;
+
+/**
+ * Enemy fire, shared by all {@link Shooter}. A single weapon fires for every registered shooter, each one having its
+ * own cooldown. Shooters are kept in arrays with swap removal, so adding and removing them is constant time. The
+ * weapon is not handled, it is updated here, as ship weapons are by {@link ShipModel}.
+ */
+public final class EnemyFire implements Updatable
+{
+    /** Enemy weapon. */
+    private static final Media WEAPON = Medias.create(Constant.FOLDER_WEAPON, "pulser.xml");
+    /** Default shooters capacity. */
+    private static final int DEFAULT_CAPACITY = 64;
+    /** Milliseconds per second. */
+    private static final double MILLI_PER_SECOND = 1000.0;
+
+    private final java.util.Map<Transformable, Integer> indexes = new IdentityHashMap<>();
+    private final Featurable featurable;
+    private final WeaponModel weapon;
+    private final SourceResolutionProvider source;
+    private final Localizable target;
+    private Transformable[] shooters = new Transformable[DEFAULT_CAPACITY];
+    private double[] cooldowns = new double[DEFAULT_CAPACITY];
+    private int count;
+
+    /**
+     * Create enemy fire, aiming at the player ship.
+     * 
+     * @param services The services reference.
+     * @throws LionEngineException If missing services.
+     */
+    public EnemyFire(Services services)
+    {
+        super();
+
+        source = services.get(SourceResolutionProvider.class);
+        featurable = services.get(Factory.class).create(WEAPON);
+        weapon = featurable.getFeature(WeaponModel.class);
+        weapon.setGroup(Constant.COLLISION_GROUP_PROJECTILES_ENTITIES);
+
+        final ShipModel ship = services.get(ShipModel.class);
+        final Transformable other = ship.getFeature(Transformable.class);
+        target = new Localizable()
+        {
+            @Override
+            public double getX()
+            {
+                return other.getX() + ship.getSpeed().getDirectionHorizontal();
+            }
+
+            @Override
+            public double getY()
+            {
+                return other.getY() + ship.getSpeed().getDirectionVertical();
+            }
+        };
+    }
+
+    /**
+     * Add a shooter, firing on next update. Nothing is done if already added.
+     * 
+     * @param shooter The shooter location.
+     */
+    public void add(Transformable shooter)
+    {
+        if (indexes.containsKey(shooter))
+        {
+            return;
+        }
+        if (count == shooters.length)
+        {
+            final int capacity = count * 2;
+            shooters = Arrays.copyOf(shooters, capacity);
+            cooldowns = Arrays.copyOf(cooldowns, capacity);
+        }
+        shooters[count] = shooter;
+        cooldowns[count] = 0.0;
+        indexes.put(shooter, Integer.valueOf(count));
+        count++;
+    }
+
+    /**
+     * Remove a shooter. Nothing is done if not added.
+     * 
+     * @param shooter The shooter location.
+     */
+    public void remove(Transformable shooter)
+    {
+        final Integer index = indexes.remove(shooter);
+        if (index != null)
+        {
+            final int i = index.intValue();
+            count--;
+            if (i < count)
+            {
+                shooters[i] = shooters[count];
+                cooldowns[i] = cooldowns[count];
+                indexes.put(shooters[i], index);
+            }
+            shooters[count] = null;
+        }
+    }
+
+    /**
+     * Destroy the shared weapon, releasing its sounds. Must be called once, when world ends.
+     */
+    public void terminate()
+    {
+        featurable.getFeature(Identifiable.class).destroy();
+    }
+
+    /**
+     * Get the number of registered shooters.
+     * 
+     * @return The shooters number.
+     */
+    public int getShooters()
+    {
+        return count;
+    }
+
+    /**
+     * Get the shared weapon.
+     * 
+     * @return The shared weapon.
+     */
+    WeaponModel getWeapon()
+    {
+        return weapon;
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        weapon.update(extrp);
+
+        final double delay = weapon.getDelay() * source.getRate() / MILLI_PER_SECOND;
+        for (int i = 0; i < count; i++)
+        {
+            cooldowns[i] -= extrp;
+            if (cooldowns[i] <= 0.0)
+            {
+                weapon.fireShared(shooters[i], target);
+                cooldowns[i] = delay;
+            }
+        }
+    }
+}
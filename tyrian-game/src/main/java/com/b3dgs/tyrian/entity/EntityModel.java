@@ -20,13 +20,10 @@ import com.b3dgs.lionengine.Animation;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
-import com.b3dgs.lionengine.Xml;
 import com.b3dgs.lionengine.game.Alterable;
-import com.b3dgs.lionengine.game.AnimationConfig;
 import com.b3dgs.lionengine.game.Direction;
 import com.b3dgs.lionengine.game.DirectionNone;
 import com.b3dgs.lionengine.game.FeatureProvider;
-import com.b3dgs.lionengine.game.ForceConfig;
 import com.b3dgs.lionengine.game.feature.Animatable;
 import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.Factory;
@@ -36,25 +33,28 @@ import com.b3dgs.lionengine.game.feature.FeatureModel;
 import com.b3dgs.lionengine.game.feature.Handler;
 import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.Recyclable;
-import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.collidable.Collidable;
 import com.b3dgs.lionengine.game.feature.collidable.CollidableListener;
 import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.tyrian.CommandBuffer;
+import com.b3dgs.tyrian.ConfigCache;
 import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.ParallelRoutine;
 import com.b3dgs.tyrian.Sfx;
 
 /**
  * Entity model implementation.
  */
 @FeatureInterface
-public final class EntityModel extends FeatureModel implements RoutineUpdate, CollidableListener, Recyclable
+public final class EntityModel extends FeatureModel implements ParallelRoutine, CollidableListener, Recyclable
 {
     private static final String ANIM_IDLE = "idle";
 
-    private final Factory factory = services.get(Factory.class);
+    private final FeaturablePool pool = services.get(FeaturablePool.class);
     private final Handler handler = services.get(Handler.class);
     private final Camera camera = services.get(Camera.class);
 
@@ -65,6 +65,7 @@ public final class EntityModel extends FeatureModel implements RoutineUpdate, Co
 
     private final Alterable life = new Alterable(3);
     private final Direction direction;
+    private final Media hitMedia = Medias.create(Constant.FOLDER_EFFECT, "bullet_hit.xml");
     private final Media explodeMedia;
     private final Animation anim;
 
@@ -93,33 +94,20 @@ public final class EntityModel extends FeatureModel implements RoutineUpdate, Co
         this.collidable = collidable;
         this.animatable = animatable;
 
-        final Xml root = setup.getRoot();
-        if (root.hasNode(ForceConfig.NODE_FORCE))
-        {
-            direction = ForceConfig.imports(setup);
-        }
-        else
-        {
-            direction = DirectionNone.INSTANCE;
-        }
-        explodeMedia = Medias.create(Constant.FOLDER_EFFECT,
-                                     setup.getText(EffectModel.NODE_EXPLODE) + Factory.FILE_DATA_DOT_EXTENSION);
-
-        final AnimationConfig animConfig = AnimationConfig.imports(setup);
-        if (animConfig.hasAnimation(ANIM_IDLE))
-        {
-            anim = animConfig.getAnimation(ANIM_IDLE);
-        }
-        else
-        {
-            anim = null;
-        }
+        direction = ConfigCache.getForce(setup, DirectionNone.INSTANCE);
+        explodeMedia = ConfigCache.get(setup,
+                                       EntityModel.class,
+                                       s -> Medias.create(Constant.FOLDER_EFFECT,
+                                                          s.getText(EffectModel.NODE_EXPLODE)
+                                                                     + Factory.FILE_DATA_DOT_EXTENSION),
+                                       EffectModel.NODE_EXPLODE);
+        anim = ConfigCache.getAnimation(setup, ANIM_IDLE).orElse(null);
     }
 
     /**
-     * Get the entity force.
+     * Get the entity direction, shared by all instances of the same media.
      * 
-     * @return The entity force.
+     * @return The entity direction (immutable).
      */
     public Direction getDirection()
     {
@@ -131,9 +119,12 @@ public final class EntityModel extends FeatureModel implements RoutineUpdate, Co
      */
     private void spawnEffectHit()
     {
-        final Featurable hit = factory.create(Medias.create(Constant.FOLDER_EFFECT, "bullet_hit.xml"));
-        hit.getFeature(EffectModel.class).start(transformable);
-        handler.add(hit);
+        if (pool.hasRoom(hitMedia))
+        {
+            final Featurable hit = pool.acquire(hitMedia);
+            hit.getFeature(EffectModel.class).start(transformable);
+            handler.add(hit);
+        }
     }
 
     /**
@@ -141,9 +132,38 @@ public final class EntityModel extends FeatureModel implements RoutineUpdate, Co
      */
     private void spawnEffectExplode()
     {
-        final Explode explode = factory.create(explodeMedia);
-        explode.start(transformable);
-        handler.add(explode);
+        if (pool.hasRoom(explodeMedia))
+        {
+            final Explode explode = pool.acquire(explodeMedia);
+            explode.start(transformable);
+            handler.add(explode);
+        }
+    }
+
+    /**
+     * Apply a projectile hit: hit effect, life decrease, and explosion when no more life.
+     */
+    public void hit()
+    {
+        Sfx.BULLET_HIT.play();
+        spawnEffectHit();
+
+        life.decrease(1);
+        if (life.getCurrent() == 0)
+        {
+            spawnEffectExplode();
+            identifiable.destroy();
+        }
+    }
+
+    /**
+     * Check if entity still has life.
+     * 
+     * @return <code>true</code> if alive, <code>false</code> if exploded.
+     */
+    public boolean isAlive()
+    {
+        return life.getCurrent() > 0;
     }
 
     @Override
@@ -155,28 +175,21 @@ public final class EntityModel extends FeatureModel implements RoutineUpdate, Co
     }
 
     @Override
-    public void update(double extrp)
+    public void update(double extrp, CommandBuffer commands)
     {
-        transformable.moveLocation(extrp, direction);
+        final double vy = direction.getDirectionVertical() * extrp;
+        commands.move(transformable, direction.getDirectionHorizontal() * extrp, vy);
 
-        if (transformable.getY() < camera.getY() - transformable.getHeight())
+        if (transformable.getY() + vy < camera.getY() - transformable.getHeight())
         {
-            identifiable.destroy();
+            commands.destroy(identifiable);
         }
     }
 
     @Override
     public void notifyCollided(Collidable collidable, Collision with, Collision by)
     {
-        Sfx.BULLET_HIT.play();
-        spawnEffectHit();
-
-        life.decrease(1);
-        if (life.getCurrent() == 0)
-        {
-            spawnEffectExplode();
-            identifiable.destroy();
-        }
+        hit();
 
         collidable.getFeature(Identifiable.class).destroy();
     }
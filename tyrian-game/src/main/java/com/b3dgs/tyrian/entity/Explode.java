@@ -20,13 +20,12 @@ import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Tick;
-import com.b3dgs.lionengine.UtilRandom;
-import com.b3dgs.lionengine.game.feature.Factory;
 import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.FeaturableModel;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
 import com.b3dgs.lionengine.game.feature.Handler;
 import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Recyclable;
 import com.b3dgs.lionengine.game.feature.Refreshable;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
@@ -34,6 +33,9 @@ import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.geom.Geom;
 import com.b3dgs.lionengine.geom.Rectangle;
 import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+import com.b3dgs.tyrian.ConfigCache;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.Rng;
 import com.b3dgs.tyrian.Sfx;
 
 /**
@@ -47,6 +49,8 @@ public final class Explode extends FeaturableModel
     private static final long DELAY = 40L;
     /** Explode sound delay in millisecond. */
     private static final long DELAY_SFX = 300L;
+    /** Default maximum pooled explodes per media. */
+    private static final int POOL_MAX = 8;
     /** Empty action. */
     private static final PostAction EMPTY_ACTION = () ->
     {
@@ -54,8 +58,9 @@ public final class Explode extends FeaturableModel
     };
 
     private final SourceResolutionProvider source = services.get(SourceResolutionProvider.class);
-    private final Factory factory = services.get(Factory.class);
+    private final FeaturablePool pool = services.get(FeaturablePool.class);
     private final Handler handler = services.get(Handler.class);
+    private final Rng rng = services.get(Rng.class);
 
     private final Rectangle area = new Rectangle();
     private final Media media;
@@ -75,8 +80,12 @@ public final class Explode extends FeaturableModel
     {
         super(services, setup);
 
-        media = Medias.create(setup.getText(EffectModel.NODE_EXPLODE));
-        countMax = setup.getInteger(ATT_COUNT, EffectModel.NODE_EXPLODE);
+        media = ConfigCache.get(setup,
+                                Explode.class,
+                                s -> Medias.create(s.getText(EffectModel.NODE_EXPLODE)),
+                                EffectModel.NODE_EXPLODE);
+        countMax = ConfigCache.getInteger(setup, ATT_COUNT, EffectModel.NODE_EXPLODE);
+        pool.setLimit(setup, POOL_MAX);
 
         addFeature(new ExplodeUpdater(services, setup, getFeature(Identifiable.class)));
     }
@@ -108,7 +117,7 @@ public final class Explode extends FeaturableModel
     /**
      * Explode updater implementation.
      */
-    private final class ExplodeUpdater extends FeatureModel implements Refreshable
+    private final class ExplodeUpdater extends FeatureModel implements Refreshable, Recyclable
     {
         private static final long EXTRA_DELAY = 1000L;
 
@@ -119,6 +128,7 @@ public final class Explode extends FeaturableModel
         private final Tick extraDelay = new Tick();
 
         private EffectModel effect;
+        private int effectRun;
 
         /**
          * Create explode medium updater.
@@ -143,13 +153,16 @@ public final class Explode extends FeaturableModel
 
             if (count == 0 || tick.elapsedTime(source.getRate(), DELAY) && count <= countMax)
             {
-                final double x = area.getX() - area.getWidth() / 2.0 + UtilRandom.getRandomInteger(area.getWidth());
-                final double y = area.getY() - UtilRandom.getRandomInteger(area.getHeight()) + area.getHeight() / 2.0;
+                final double x = area.getX() - area.getWidth() / 2.0 + rng.nextInt(area.getWidth());
+                final double y = area.getY() - rng.nextInt(area.getHeight()) + area.getHeight() / 2.0;
 
-                final Featurable featurable = factory.create(media);
-                effect = featurable.getFeature(EffectModel.class);
-                effect.start(Geom.createLocalizable(x, y));
-                handler.add(featurable);
+                if (pool.hasRoom(media))
+                {
+                    final Featurable featurable = pool.acquire(media);
+                    effect = featurable.getFeature(EffectModel.class);
+                    effectRun = effect.start(Geom.createLocalizable(x, y));
+                    handler.add(featurable);
+                }
 
                 checkSfx();
 
@@ -175,11 +188,15 @@ public final class Explode extends FeaturableModel
         }
 
         /**
-         * Check when effect ended.
+         * Check when effect ended. Last effect is released as soon as its run is finished, as it may be reacquired.
          */
         private void checkEnd()
         {
-            if (count > countMax && effect != null && effect.isFinished())
+            if (effect != null && effect.isFinished(effectRun))
+            {
+                effect = null;
+            }
+            if (count > countMax && effect == null)
             {
                 extraDelay.start();
                 if (extraDelay.elapsedTime(source.getRate(), EXTRA_DELAY))
@@ -192,6 +209,17 @@ public final class Explode extends FeaturableModel
                 }
             }
         }
+
+        @Override
+        public void recycle()
+        {
+            tick.stop();
+            tickSfx.stop();
+            extraDelay.stop();
+            effect = null;
+            action = EMPTY_ACTION;
+            count = -1;
+        }
     }
 
     /**
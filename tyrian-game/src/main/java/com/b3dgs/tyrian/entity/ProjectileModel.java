@@ -16,49 +16,67 @@
  */
 package com.b3dgs.tyrian.entity;
 
+import java.util.Optional;
+
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Localizable;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Tick;
 import com.b3dgs.lionengine.Viewer;
-import com.b3dgs.lionengine.Xml;
 import com.b3dgs.lionengine.game.Direction;
 import com.b3dgs.lionengine.game.DirectionNone;
 import com.b3dgs.lionengine.game.Force;
-import com.b3dgs.lionengine.game.ForceConfig;
 import com.b3dgs.lionengine.game.SurfaceConfig;
 import com.b3dgs.lionengine.game.feature.Animatable;
-import com.b3dgs.lionengine.game.feature.Factory;
 import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
 import com.b3dgs.lionengine.game.feature.Handler;
 import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.Recyclable;
-import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.collidable.Collidable;
 import com.b3dgs.lionengine.game.feature.launchable.Launchable;
 import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+import com.b3dgs.tyrian.CommandBuffer;
+import com.b3dgs.tyrian.ConfigCache;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.ParallelRoutine;
 
 /**
  * Projectile model implementation.
  */
 @FeatureInterface
-public final class ProjectileModel extends FeatureModel implements RoutineUpdate, Recyclable
+public final class ProjectileModel extends FeatureModel implements ParallelRoutine, Recyclable
 {
     private static final String NODE_EFFECT = "effect";
     private static final String ATT_RATE = "rate";
     private static final String ATT_FRAME = "frame";
 
+    /**
+     * Import effect media.
+     * 
+     * @param setup The setup reference.
+     * @return The effect media, empty if none.
+     */
+    private static Optional<Media> importEffect(Setup setup)
+    {
+        if (setup.hasNode(NODE_EFFECT))
+        {
+            return Optional.of(Medias.create(setup.getText(NODE_EFFECT)));
+        }
+        return Optional.empty();
+    }
+
     private final SourceResolutionProvider source = services.get(SourceResolutionProvider.class);
-    private final Factory factory = services.get(Factory.class);
+    private final FeaturablePool pool = services.get(FeaturablePool.class);
     private final Handler handler = services.get(Handler.class);
     private final Viewer viewer = services.get(Viewer.class);
 
+    private final Identifiable identifiable;
     private final Transformable transformable;
     private final Animatable animatable;
 
@@ -74,6 +92,7 @@ public final class ProjectileModel extends FeatureModel implements RoutineUpdate
      * 
      * @param services The services reference (must not be <code>null</code>).
      * @param setup The setup reference (must not be <code>null</code>).
+     * @param identifiable The identifiable feature.
      * @param transformable The transformable feature.
      * @param launchable The launchable feature.
      * @param collidable The collidable feature.
@@ -82,6 +101,7 @@ public final class ProjectileModel extends FeatureModel implements RoutineUpdate
      */
     public ProjectileModel(Services services,
                            Setup setup,
+                           Identifiable identifiable,
                            Transformable transformable,
                            Launchable launchable,
                            Collidable collidable,
@@ -89,29 +109,15 @@ public final class ProjectileModel extends FeatureModel implements RoutineUpdate
     {
         super(services, setup);
 
+        this.identifiable = identifiable;
         this.transformable = transformable;
         this.animatable = animatable;
 
-        frame = setup.getInteger(ATT_FRAME, SurfaceConfig.NODE_SURFACE);
-        effectRate = setup.getInteger(0, ATT_RATE, NODE_EFFECT);
-        if (setup.hasNode(NODE_EFFECT))
-        {
-            effectMedia = Medias.create(setup.getText(NODE_EFFECT));
-        }
-        else
-        {
-            effectMedia = null;
-        }
-
-        final Xml root = setup.getRoot();
-        if (root.hasNode(ForceConfig.NODE_FORCE))
-        {
-            acceleration = ForceConfig.imports(root);
-        }
-        else
-        {
-            acceleration = new Force();
-        }
+        frame = ConfigCache.getInteger(setup, ATT_FRAME, SurfaceConfig.NODE_SURFACE);
+        effectRate = ConfigCache.getInteger(setup, 0, ATT_RATE, NODE_EFFECT);
+        effectMedia = ConfigCache.get(setup, ProjectileModel.class, ProjectileModel::importEffect, NODE_EFFECT)
+                                 .orElse(null);
+        acceleration = ConfigCache.getForce(setup, DirectionNone.INSTANCE);
 
         collidable.setCollisionVisibility(false);
 
@@ -128,27 +134,32 @@ public final class ProjectileModel extends FeatureModel implements RoutineUpdate
      */
     private void startEffect(Localizable localizable)
     {
-        final Featurable effect = factory.create(effectMedia);
-        handler.add(effect);
-        effect.getFeature(EffectModel.class).start(localizable);
+        if (pool.hasRoom(effectMedia))
+        {
+            final Featurable effect = pool.acquire(effectMedia);
+            handler.add(effect);
+            effect.getFeature(EffectModel.class).start(localizable);
+        }
         tick.restart();
     }
 
     @Override
-    public void update(double extrp)
+    public void update(double extrp, CommandBuffer commands)
     {
         animatable.setFrame(frame);
-        transformable.moveLocation(extrp, force);
+        commands.move(transformable, force.getDirectionHorizontal() * extrp, force.getDirectionVertical() * extrp);
         force.addDirection(extrp, acceleration);
         tick.update(extrp);
 
         if (tick.elapsedTime(source.getRate(), effectRate))
         {
-            startEffect(transformable);
+            commands.spawnEffect(effectMedia, transformable);
+            tick.restart();
         }
+        // Checked before deferred move, leaving projectile is destroyed one step later
         if (!viewer.isViewable(transformable, 0, 0))
         {
-            getFeature(Identifiable.class).destroy();
+            commands.destroy(identifiable);
         }
     }
 
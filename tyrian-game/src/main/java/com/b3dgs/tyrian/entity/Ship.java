@@ -17,31 +17,33 @@
 package com.b3dgs.tyrian.entity;
 
 import com.b3dgs.lionengine.LionEngineException;
-import com.b3dgs.lionengine.UtilRandom;
 import com.b3dgs.lionengine.Viewer;
 import com.b3dgs.lionengine.game.Force;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
+import com.b3dgs.lionengine.game.feature.Recyclable;
 import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.Rng;
 
 /**
  * Ship entity feature, shooting player.
  */
 @FeatureInterface
-public final class Ship extends FeatureModel implements RoutineUpdate
+public final class Ship extends FeatureModel implements RoutineUpdate, Recyclable
 {
     private static final int RANDOM_Y = 64;
 
     private final Viewer viewer = services.get(Viewer.class);
     private final Transformable player = services.get(ShipModel.class).getFeature(Transformable.class);
+    private final Rng rng = services.get(Rng.class);
 
     private final Transformable transformable;
 
-    private final boolean follow = UtilRandom.getRandomBoolean();
-    private final int y = UtilRandom.getRandomInteger(RANDOM_Y);
+    private boolean follow = rng.nextBoolean();
+    private int y = rng.nextInt(RANDOM_Y);
 
     /**
      * Create feature.
@@ -58,6 +60,13 @@ public final class Ship extends FeatureModel implements RoutineUpdate
         this.transformable = transformable;
     }
 
+    @Override
+    public void recycle()
+    {
+        follow = rng.nextBoolean();
+        y = rng.nextInt(RANDOM_Y);
+    }
+
     @Override
     public void update(double extrp)
     {
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.entity;
+
+import java.util.Optional;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.FeatureInterface;
+import com.b3dgs.lionengine.game.feature.FeatureModel;
+import com.b3dgs.lionengine.game.feature.RoutineUpdate;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.tyrian.InputReplay;
+
+/**
+ * Ship control from the {@link InputReplay} service, one recorded tick per update. Ship stays idle without replay
+ * service, or once replay ended.
+ */
+@FeatureInterface
+public final class ShipControllerReplay extends FeatureModel implements RoutineUpdate
+{
+    private final Optional<InputReplay> replay = services.getOptional(InputReplay.class);
+
+    private final ShipModel model;
+
+    /**
+     * Create a replay ship controller.
+     * 
+     * @param services The services reference (must not be <code>null</code>).
+     * @param setup The setup reference (must not be <code>null</code>).
+     * @param model The model feature.
+     * @throws LionEngineException If invalid arguments.
+     */
+    public ShipControllerReplay(Services services, Setup setup, ShipModel model)
+    {
+        super(services, setup);
+
+        this.model = model;
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        if (replay.isPresent() && replay.get().next())
+        {
+            final InputReplay input = replay.get();
+            model.move(extrp, input.getDx(), input.getDy());
+            if (input.isFire())
+            {
+                model.fire();
+            }
+        }
+    }
+}
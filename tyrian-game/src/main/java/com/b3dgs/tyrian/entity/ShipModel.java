@@ -16,20 +16,20 @@
  */
 package com.b3dgs.tyrian.entity;
 
+import java.util.Optional;
+
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Localizable;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Origin;
 import com.b3dgs.lionengine.Tick;
-import com.b3dgs.lionengine.UtilRandom;
 import com.b3dgs.lionengine.game.Alterable;
 import com.b3dgs.lionengine.game.Direction;
 import com.b3dgs.lionengine.game.Force;
 import com.b3dgs.lionengine.game.feature.Animatable;
 import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.Factory;
-import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
 import com.b3dgs.lionengine.game.feature.Handler;
@@ -42,15 +42,15 @@ import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.collidable.Collidable;
 import com.b3dgs.lionengine.game.feature.collidable.CollidableListener;
 import com.b3dgs.lionengine.game.feature.collidable.Collision;
-import com.b3dgs.lionengine.game.feature.launchable.Launcher;
 import com.b3dgs.lionengine.game.feature.launchable.LauncherListener;
 import com.b3dgs.lionengine.geom.Rectangle;
 import com.b3dgs.lionengine.graphic.Graphic;
-import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteAnimated;
 import com.b3dgs.lionengine.graphic.engine.Sequencer;
 import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
+import com.b3dgs.tyrian.Atlas;
 import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.Rng;
 import com.b3dgs.tyrian.Sfx;
 import com.b3dgs.tyrian.bonus.action.Action;
 import com.b3dgs.tyrian.entity.Explode.PostAction;
@@ -65,6 +65,8 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
     static final int DEFAULT_ENERGY = 8;
     private static final int OFFSET_Y = 8;
     private static final long HIT_TIME = 25L;
+    /** Enemy projectile damages. */
+    private static final int PROJECTILE_DAMAGES = 3;
     /** Shield increment delay in milliseconds. */
     private static final long SHIELD_INC_DELAY = 1000L;
     /** Turning max. */
@@ -83,10 +85,12 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
     private static final int TURNING_HIGH_RIGHT = 5;
 
     private final SourceResolutionProvider source = services.get(SourceResolutionProvider.class);
-    private final Sequencer sequence = services.get(Sequencer.class);
+    private final Optional<Sequencer> sequence = services.getOptional(Sequencer.class);
     private final Factory factory = services.get(Factory.class);
     private final Handler handler = services.get(Handler.class);
     private final Camera camera = services.get(Camera.class);
+    private final Rng rng = services.get(Rng.class);
+    private final Atlas atlas = services.get(Atlas.class);
 
     private final Transformable transformable;
     private final Animatable animatable;
@@ -124,8 +128,7 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
         this.transformable = transformable;
         this.animatable = animatable;
 
-        hit = Drawable.loadSpriteAnimated(Medias.create(Constant.FOLDER_EFFECT, "Hit.png"), 1, 1);
-        hit.load();
+        hit = atlas.loadSpriteAnimated(Medias.create(Constant.FOLDER_EFFECT, "Hit.png"), 1, 1);
         hit.prepare();
         hit.setOrigin(Origin.CENTER_BOTTOM);
         hit.setFrameOffsets(1, OFFSET_Y);
@@ -146,6 +149,17 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
         transformable.teleport(startX, startY);
     }
 
+    /**
+     * Apply an enemy projectile hit.
+     */
+    public void hitByProjectile()
+    {
+        if (showHit(transformable))
+        {
+            onHurt(PROJECTILE_DAMAGES);
+        }
+    }
+
     /**
      * Show hit effect.
      * 
@@ -177,13 +191,13 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
         {
             front.getFeature(Identifiable.class).destroy();
             front = weapon.take();
-            ignoreProjectileCollision(front.getFeature(Launcher.class));
+            ignoreProjectileCollision(front);
         }
         else
         {
             rear.getFeature(Identifiable.class).destroy();
             rear = weapon.take();
-            ignoreProjectileCollision(rear.getFeature(Launcher.class));
+            ignoreProjectileCollision(rear);
         }
     }
 
@@ -193,7 +207,7 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
     public void powerUp()
     {
         final WeaponModel weapon;
-        if (UtilRandom.getRandomBoolean() && front.getLevel() < Constant.WEAPON_LEVEL_MAX
+        if (rng.nextBoolean() && front.getLevel() < Constant.WEAPON_LEVEL_MAX
             || rear.getLevel() == Constant.WEAPON_LEVEL_MAX)
         {
             weapon = front;
@@ -217,6 +231,37 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
         }
     }
 
+    /**
+     * Move ship by a controller delta, with the current hit force, and keep it inside the camera view.
+     * 
+     * @param extrp The extrapolation value.
+     * @param dx The horizontal delta.
+     * @param dy The vertical delta.
+     */
+    public void move(double extrp, double dx, double dy)
+    {
+        transformable.moveLocation(extrp, dx, dy + hitForce.getDirectionVertical());
+
+        final double width = transformable.getWidth() / 2.0;
+        final double maxX = camera.getWidth() + camera.getWidth() / 2.0 - width * 2;
+        if (transformable.getX() < width)
+        {
+            transformable.teleportX(width);
+        }
+        if (transformable.getX() > maxX)
+        {
+            transformable.teleportX(maxX);
+        }
+        if (transformable.getY() < camera.getY())
+        {
+            transformable.teleportY(camera.getY());
+        }
+        if (transformable.getY() > camera.getY() + camera.getHeight())
+        {
+            transformable.teleportY(camera.getY() + camera.getHeight());
+        }
+    }
+
     /**
      * Get the speed.
      * 
@@ -290,13 +335,12 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
     /**
      * Ignore weapon projectiles collision.
      * 
-     * @param launcher The launcher to ignore.
+     * @param weapon The weapon to ignore.
      */
-    private void ignoreProjectileCollision(Launcher launcher)
+    private void ignoreProjectileCollision(WeaponModel weapon)
     {
-        launcher.addListener((LauncherListener) () -> energy.decrease(DEFAULT_ENERGY));
-        launcher.addListener(launchable -> launchable.getFeature(Collidable.class)
-                                                     .setGroup(Constant.COLLISION_GROUP_PROJECTILES_SHIP));
+        weapon.addListener((LauncherListener) () -> energy.decrease(DEFAULT_ENERGY));
+        weapon.setGroup(Constant.COLLISION_GROUP_PROJECTILES_SHIP);
     }
 
     /**
@@ -307,9 +351,9 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
      */
     private WeaponModel createWeapon(Media media)
     {
-        final Featurable weapon = factory.create(media);
-        ignoreProjectileCollision(weapon.getFeature(Launcher.class));
-        return weapon.getFeature(WeaponModel.class);
+        final WeaponModel weapon = factory.create(media).getFeature(WeaponModel.class);
+        ignoreProjectileCollision(weapon);
+        return weapon;
     }
 
     /**
@@ -338,7 +382,7 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
             if (armor.decrease(1) == 0)
             {
                 final Explode explode = factory.create(Medias.create(Constant.FOLDER_EFFECT, "explode_big.xml"));
-                final PostAction action = sequence::end;
+                final PostAction action = () -> sequence.ifPresent(Sequencer::end);
                 explode.start(new Rectangle(transformable.getX() - transformable.getWidth() / 2.0,
                                             transformable.getY() - transformable.getHeight() / 2.0,
                                             50,
@@ -433,10 +477,7 @@ public final class ShipModel extends FeatureModel implements RoutineUpdate, Rout
         }
         if (collidable.hasFeature(ProjectileModel.class))
         {
-            if (showHit(transformable))
-            {
-                onHurt(3);
-            }
+            hitByProjectile();
             collidable.getFeature(Identifiable.class).destroy();
         }
         if (collidable.hasFeature(Action.class))
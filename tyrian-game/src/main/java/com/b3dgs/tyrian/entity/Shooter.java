@@ -17,33 +17,27 @@
 package com.b3dgs.tyrian.entity;
 
 import com.b3dgs.lionengine.LionEngineException;
-import com.b3dgs.lionengine.Localizable;
-import com.b3dgs.lionengine.Medias;
-import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.FeatureProvider;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
+import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
-import com.b3dgs.lionengine.game.feature.collidable.Collidable;
-import com.b3dgs.lionengine.game.feature.launchable.Launcher;
-import com.b3dgs.tyrian.Constant;
 
 /**
- * Shooter implementation.
+ * Shooter implementation. Fires through the shared {@link EnemyFire}, registered while updated and removed on
+ * destroy.
  */
 @FeatureInterface
 public final class Shooter extends FeatureModel implements RoutineUpdate
 {
-    private final Factory factory = services.get(Factory.class);
-    private final ShipModel ship = services.get(ShipModel.class);
+    private final EnemyFire fire = services.get(EnemyFire.class);
 
     private final Transformable transformable;
 
-    private final WeaponModel weapon = factory.create(Medias.create(Constant.FOLDER_WEAPON, "pulser.xml"))
-                                              .getFeature(WeaponModel.class);
-    private Localizable target;
+    private boolean registered;
 
     /**
      * Create feature.
@@ -58,32 +52,27 @@ public final class Shooter extends FeatureModel implements RoutineUpdate
         super(services, setup);
 
         this.transformable = transformable;
+    }
 
-        final Transformable other = ship.getFeature(Transformable.class);
-        target = new Localizable()
-        {
-            @Override
-            public double getX()
-            {
-                return other.getX() + ship.getSpeed().getDirectionHorizontal();
-            }
-
-            @Override
-            public double getY()
-            {
-                return other.getY() + ship.getSpeed().getDirectionVertical();
-            }
-        };
+    @Override
+    public void prepare(FeatureProvider provider)
+    {
+        super.prepare(provider);
 
-        weapon.getFeature(Launcher.class)
-              .addListener(launchable -> launchable.getFeature(Collidable.class)
-                                                   .setGroup(Constant.COLLISION_GROUP_PROJECTILES_ENTITIES));
+        provider.getFeature(Identifiable.class).addListener(id ->
+        {
+            fire.remove(transformable);
+            registered = false;
+        });
     }
 
     @Override
     public void update(double extrp)
     {
-        weapon.fire(transformable, target);
-        weapon.update(extrp);
+        if (!registered)
+        {
+            fire.add(transformable);
+            registered = true;
+        }
     }
 }
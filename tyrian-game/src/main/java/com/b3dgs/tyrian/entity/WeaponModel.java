@@ -16,40 +16,111 @@
  */
 package com.b3dgs.tyrian.entity;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Localizable;
+import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
-import com.b3dgs.lionengine.UtilFile;
 import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.XmlReader;
 import com.b3dgs.lionengine.audio.Audio;
-import com.b3dgs.lionengine.audio.AudioFactory;
 import com.b3dgs.lionengine.game.Direction;
+import com.b3dgs.lionengine.game.FeatureProvider;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
+import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
 import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.launchable.LaunchableConfig;
+import com.b3dgs.lionengine.game.feature.launchable.LaunchableListener;
 import com.b3dgs.lionengine.game.feature.launchable.Launcher;
+import com.b3dgs.lionengine.game.feature.launchable.LauncherConfig;
 import com.b3dgs.lionengine.game.feature.launchable.LauncherListener;
+import com.b3dgs.tyrian.AudioCache;
+import com.b3dgs.tyrian.ConfigCache;
 import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.PooledFactory;
 import com.b3dgs.tyrian.Sfx;
 
 /**
  * Weapon model implementation.
+ * <p>
+ * Projectiles are fired by the {@link Launcher}, which creates them through the {@link PooledFactory}. Their medias are
+ * bounded in the {@link FeaturablePool}, so bursts reuse destroyed projectiles instead of creating new ones. Weapons
+ * opting in the {@link BulletEngine}, with all their projectiles supported, fire through a {@link BulletLauncher}
+ * instead.
+ * </p>
  */
 @FeatureInterface
 public final class WeaponModel extends FeatureModel implements RoutineUpdate
 {
     /** Fire node name. */
     private static final String NODE_FIRE = "fire";
+    /** Maximum pooled projectiles per launchable media. */
+    private static final int PROJECTILE_POOL_MAX = 64;
+    /** Projectiles created in advance per launchable media. */
+    private static final int PROJECTILE_POOL_PREWARM = 16;
+
+    /**
+     * Get launchable media.
+     * 
+     * @param config The launchable configuration.
+     * @return The launchable media.
+     */
+    private static Media getMedia(LaunchableConfig config)
+    {
+        return Medias.create(config.getMedia());
+    }
+
+    /**
+     * Import bullets usage.
+     * 
+     * @param setup The setup reference.
+     * @return <code>true</code> if weapon uses the {@link BulletEngine}, <code>false</code> else.
+     */
+    private static Boolean importBullets(Setup setup)
+    {
+        return Boolean.valueOf(setup.hasNode(BulletEngine.NODE_BULLETS));
+    }
 
+    /**
+     * Import launcher levels.
+     * 
+     * @param setup The setup reference.
+     * @return The launcher configurations.
+     */
+    private static List<LauncherConfig> importLaunchers(Setup setup)
+    {
+        final List<LauncherConfig> configs = new ArrayList<>();
+        for (final XmlReader node : setup.getRoot().getChildren(LauncherConfig.NODE_LAUNCHER))
+        {
+            configs.add(LauncherConfig.imports(node));
+        }
+        return Collections.unmodifiableList(configs);
+    }
+
+    private final FeaturablePool pool = services.get(FeaturablePool.class);
+    private final BulletEngine bullets = services.get(BulletEngine.class);
+
+    private final LauncherConfig[] levels = new LauncherConfig[Constant.WEAPON_LEVEL_MAX + 1];
     private final Transformable transformable;
     private final Launcher launcher;
+    private final BulletLauncher bulletLauncher;
 
+    private final Media sfxFireMedia;
     private final Audio sfxFire;
     private final boolean front;
 
+    private int level;
+    private Integer group;
+
     /**
      * Create feature.
      * 
@@ -66,12 +137,57 @@ public final class WeaponModel extends FeatureModel implements RoutineUpdate
         this.transformable = transformable;
         this.launcher = launcher;
 
-        if (setup.hasNode(NODE_FIRE))
+        final boolean useBullets = ConfigCache.get(setup,
+                                                   WeaponModel.class,
+                                                   WeaponModel::importBullets,
+                                                   BulletEngine.NODE_BULLETS)
+                                              .booleanValue();
+        final int[][] types = new int[levels.length][];
+        boolean supported = useBullets;
+        for (final LauncherConfig config : ConfigCache.get(setup,
+                                                           WeaponModel.class,
+                                                           WeaponModel::importLaunchers,
+                                                           LauncherConfig.NODE_LAUNCHER))
+        {
+            final List<LaunchableConfig> launchables = config.getLaunchables();
+            levels[config.getLevel()] = config;
+            types[config.getLevel()] = new int[launchables.size()];
+            for (int i = 0; i < launchables.size(); i++)
+            {
+                final Media media = getMedia(launchables.get(i));
+                types[config.getLevel()][i] = useBullets ? bullets.register(media) : BulletEngine.UNSUPPORTED;
+                supported &= types[config.getLevel()][i] != BulletEngine.UNSUPPORTED;
+            }
+        }
+        final int defaultGroup = ConfigCache.getInteger(setup,
+                                                        BulletEngine.NO_GROUP,
+                                                        BulletEngine.ATT_GROUP,
+                                                        BulletEngine.NODE_BULLETS);
+        if (defaultGroup != BulletEngine.NO_GROUP)
         {
-            final String sfxFile = setup.getText(NODE_FIRE);
-            sfxFire = AudioFactory.loadAudio(Medias.create(Constant.FOLDER_SFX,
-                                                           UtilFile.normalizeExtension(sfxFile,
-                                                                                       Sfx.AUDIO_FILE_EXTENSION)));
+            group = Integer.valueOf(defaultGroup);
+        }
+        if (supported)
+        {
+            bulletLauncher = new BulletLauncher(services, levels, types, transformable);
+            bulletLauncher.setGroup(defaultGroup);
+        }
+        else
+        {
+            bulletLauncher = null;
+            prewarm();
+        }
+        setLevel(0);
+
+        sfxFireMedia = ConfigCache.getText(setup, NODE_FIRE).map(AudioCache::getMedia).orElse(null);
+        if (sfxFireMedia != null && Sfx.hasMixer())
+        {
+            Sfx.load(sfxFireMedia);
+            sfxFire = null;
+        }
+        else if (sfxFireMedia != null && Sfx.isEnabled())
+        {
+            sfxFire = AudioCache.acquire(sfxFireMedia);
         }
         else
         {
@@ -80,15 +196,110 @@ public final class WeaponModel extends FeatureModel implements RoutineUpdate
 
         front = setup.getMedia().getPath().contains(Constant.FOLDER_FRONT);
 
-        launcher.addListener((LauncherListener) () ->
+        addListener((LauncherListener) () ->
+        {
+            if (sfxFire != null)
+            {
+                if (Sfx.isEnabled())
+                {
+                    sfxFire.play();
+                }
+            }
+            else if (sfxFireMedia != null)
+            {
+                Sfx.play(sfxFireMedia, Sfx.PRIORITY_WEAPON, Sfx.CAP_WEAPON);
+            }
+        });
+        launcher.addListener((LaunchableListener) launchable ->
         {
-            if (sfxFire != null && Sfx.isEnabled())
+            if (group != null)
             {
-                sfxFire.play();
+                launchable.getFeature(Collidable.class).setGroup(group);
             }
         });
     }
 
+    /**
+     * Bound the projectile medias in the pool, so the launcher gets them from pool, and create some in advance.
+     */
+    private void prewarm()
+    {
+        for (final LauncherConfig config : levels)
+        {
+            if (config != null)
+            {
+                for (final LaunchableConfig launchable : config.getLaunchables())
+                {
+                    final Media media = getMedia(launchable);
+                    pool.setLimit(media, PROJECTILE_POOL_MAX);
+                    pool.prewarm(media, PROJECTILE_POOL_PREWARM);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void prepare(FeatureProvider provider)
+    {
+        super.prepare(provider);
+
+        if (sfxFire != null)
+        {
+            provider.getFeature(Identifiable.class).addListener(id -> AudioCache.release(sfxFireMedia));
+        }
+    }
+
+    /**
+     * Add a listener notified on each fire.
+     * 
+     * @param listener The listener to add.
+     */
+    public void addListener(LauncherListener listener)
+    {
+        launcher.addListener(listener);
+        if (bulletLauncher != null)
+        {
+            bulletLauncher.addListener(listener);
+        }
+    }
+
+    /**
+     * Add a listener notified for each launched projectile or bullet.
+     * 
+     * @param listener The listener to add.
+     */
+    public void addListener(LaunchListener listener)
+    {
+        if (bulletLauncher != null)
+        {
+            bulletLauncher.addListener(listener);
+        }
+        else
+        {
+            launcher.addListener((LaunchableListener) launchable ->
+            {
+                final Transformable launched = launchable.getFeature(Transformable.class);
+                listener.notifyLaunched(launched.getX(), launched.getY());
+            });
+        }
+    }
+
+    /**
+     * Set the collision group of the launched projectiles and bullets, overriding the default one of the
+     * {@link BulletEngine#NODE_BULLETS} node {@link BulletEngine#ATT_GROUP} attribute. Bullets launched without group
+     * hit nothing.
+     * 
+     * @param group The collision group.
+     */
+    public void setGroup(Integer group)
+    {
+        this.group = group;
+        if (bulletLauncher != null)
+        {
+            bulletLauncher.setGroup(group != null ? group.intValue() : BulletEngine.NO_GROUP);
+        }
+    }
+
     /**
      * Take the weapon and play sound.
      * 
@@ -119,7 +330,14 @@ public final class WeaponModel extends FeatureModel implements RoutineUpdate
     public void fire(Localizable from, Direction initial)
     {
         transformable.setLocation(from.getX(), from.getY());
-        launcher.fire(initial);
+        if (bulletLauncher != null)
+        {
+            bulletLauncher.fire(initial);
+        }
+        else
+        {
+            launcher.fire(initial);
+        }
     }
 
     /**
@@ -131,7 +349,59 @@ public final class WeaponModel extends FeatureModel implements RoutineUpdate
     public void fire(Localizable from, Localizable target)
     {
         transformable.setLocation(from.getX(), from.getY());
-        launcher.fire(target);
+        if (bulletLauncher != null)
+        {
+            bulletLauncher.fire(target);
+        }
+        else
+        {
+            launcher.fire(target);
+        }
+    }
+
+    /**
+     * Fire all launchables of current level, to share a single weapon between several shooters, each handling its own
+     * fire delay. Bullets ignore the fire delay, delayed ones are launched on update from the source location at this
+     * time, each fire keeping its own source and target. Projectiles are fired by the launcher, which applies its fire
+     * delay.
+     * 
+     * @param from The fire source.
+     * @param target The fire target.
+     */
+    void fireShared(Localizable from, Localizable target)
+    {
+        if (bulletLauncher != null)
+        {
+            bulletLauncher.fireShared(from, target);
+        }
+        else
+        {
+            fire(from, target);
+        }
+    }
+
+    /**
+     * Get the number of shared delayed launches not launched yet.
+     * 
+     * @return The pending shared launches.
+     */
+    int getSharedPending()
+    {
+        if (bulletLauncher != null)
+        {
+            return bulletLauncher.getSharedPending();
+        }
+        return 0;
+    }
+
+    /**
+     * Get the current level fire delay.
+     * 
+     * @return The fire delay in milliseconds.
+     */
+    long getDelay()
+    {
+        return levels[level].getDelay();
     }
 
     /**
@@ -139,7 +409,7 @@ public final class WeaponModel extends FeatureModel implements RoutineUpdate
      */
     public void increaseLevel()
     {
-        launcher.setLevel(UtilMath.clamp(launcher.getLevel() + 1, 0, Constant.WEAPON_LEVEL_MAX));
+        setLevel(UtilMath.clamp(level + 1, 0, Constant.WEAPON_LEVEL_MAX));
     }
 
     /**
@@ -149,12 +419,34 @@ public final class WeaponModel extends FeatureModel implements RoutineUpdate
      */
     public int getLevel()
     {
-        return launcher.getLevel();
+        return level;
+    }
+
+    /**
+     * Set the weapon level, keeping the last defined one if level has no launcher.
+     * 
+     * @param level The weapon level.
+     */
+    private void setLevel(int level)
+    {
+        if (levels[level] != null)
+        {
+            this.level = level;
+            launcher.setLevel(level);
+            if (bulletLauncher != null)
+            {
+                bulletLauncher.setLevel(level);
+            }
+        }
     }
 
     @Override
     public void update(double extrp)
     {
         launcher.update(extrp);
+        if (bulletLauncher != null)
+        {
+            bulletLauncher.update(extrp);
+        }
     }
 }
@@ -16,20 +16,30 @@
  */
 package com.b3dgs.tyrian;
 
+import java.io.File;
+import java.util.Optional;
+
 import com.b3dgs.lionengine.Config;
 import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Resolution;
+import com.b3dgs.lionengine.Verbose;
 import com.b3dgs.lionengine.audio.AudioFactory;
 import com.b3dgs.lionengine.audio.adplug.AdPlugFormat;
 import com.b3dgs.lionengine.audio.wav.WavFormat;
 import com.b3dgs.lionengine.awt.graphic.EngineAwt;
 import com.b3dgs.lionengine.graphic.engine.Loader;
+import com.b3dgs.tyrian.pc.FrameProfilerJmx;
+import com.b3dgs.tyrian.pc.JavaSoundMixer;
 
 /**
  * Program starts here.
  */
 public final class AppTyrian
 {
+    /** Input record file system property, recorded for {@link InputReplay} if defined. */
+    public static final String PROPERTY_RECORD = "tyrian.record";
     /** Default display. */
     private static final Resolution DEFAULT_RESOLUTION = new Resolution(540, 960, 60);
 
@@ -44,7 +54,19 @@ public final class AppTyrian
         AudioFactory.addFormat(new WavFormat());
         AudioFactory.addFormat(AdPlugFormat.getFailsafe());
         Sfx.setEnabled(true);
-        Loader.start(Config.windowed(DEFAULT_RESOLUTION), Loading.class);
+        try
+        {
+            Sfx.setMixer(new JavaSoundMixer());
+        }
+        catch (final LionEngineException exception)
+        {
+            Verbose.exception(exception, "Sound mixer unavailable, using engine audio");
+        }
+        final FrameProfiler profiler = new FrameProfiler();
+        FrameProfilerJmx.register(profiler);
+        final Optional<Media> record = Optional.ofNullable(System.getProperty(PROPERTY_RECORD))
+                                               .map(file -> Medias.get(new File(file)));
+        Loader.start(Config.windowed(DEFAULT_RESOLUTION), Loading.class, profiler, record);
     }
 
     /**
@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Pack effect, projectile and entity images in atlas pages, with their index read by {@link Atlas}.
+ * <p>
+ * Images are sorted by decreasing height and placed on shelves, pages are filled one after the other up to
+ * {@link #PAGE_SIZE}. Output is deterministic, so regenerated files only change with sources.
+ * </p>
+ * <p>
+ * Usage: <code>AtlasPacker &lt;resources directory&gt;</code>
+ * </p>
+ */
+public final class AtlasPacker
+{
+    /** Packed folders, relative to resources. */
+    private static final String[] FOLDERS =
+    {
+        "effect", "projectile", "entity/dynamic", "entity/bonus"
+    };
+    /** Page maximum size in pixel. */
+    private static final int PAGE_SIZE = 1024;
+    /** Space between images in pixel. */
+    private static final int PADDING = 1;
+    /** Image extension. */
+    private static final String EXTENSION_PNG = ".png";
+    /** Image format. */
+    private static final String FORMAT_PNG = "png";
+    /** Index line separator, platform independent. */
+    private static final char NEW_LINE = '\n';
+
+    /**
+     * Main function.
+     * 
+     * @param args The arguments.
+     * @throws IOException If error.
+     */
+    public static void main(String[] args) throws IOException // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        final Path resources = Paths.get(args[0]);
+        final List<Region> regions = new ArrayList<>();
+        for (final String folder : FOLDERS)
+        {
+            try (Stream<Path> files = Files.walk(resources.resolve(folder)))
+            {
+                for (final Path file : (Iterable<Path>) files.sorted()::iterator)
+                {
+                    if (file.getFileName().toString().endsWith(EXTENSION_PNG))
+                    {
+                        final String path = resources.relativize(file).toString().replace('\\', '/');
+                        regions.add(new Region(path, ImageIO.read(file.toFile())));
+                    }
+                }
+            }
+        }
+        regions.sort(Comparator.comparingInt((Region region) -> region.image.getHeight())
+                               .reversed()
+                               .thenComparing(region -> region.path));
+
+        final int pages = place(regions);
+        final Path output = resources.resolve(Atlas.FOLDER);
+        Files.createDirectories(output);
+        for (int page = 0; page < pages; page++)
+        {
+            ImageIO.write(draw(regions, page), FORMAT_PNG, output.resolve(Atlas.getPageName(page)).toFile());
+        }
+        writeIndex(regions, pages, output.resolve(Atlas.INDEX));
+    }
+
+    /**
+     * Place regions on shelves.
+     * 
+     * @param regions The regions sorted by decreasing height.
+     * @return The number of pages.
+     * @throws LionEngineException If an image is larger than a page.
+     */
+    private static int place(List<Region> regions)
+    {
+        int page = 0;
+        int x = 0;
+        int y = 0;
+        int shelf = 0;
+        for (final Region region : regions)
+        {
+            final int width = region.image.getWidth();
+            final int height = region.image.getHeight();
+            if (width > PAGE_SIZE || height > PAGE_SIZE)
+            {
+                throw new LionEngineException("Image too large for atlas: " + region.path);
+            }
+            if (x + width > PAGE_SIZE)
+            {
+                x = 0;
+                y += shelf + PADDING;
+                shelf = 0;
+            }
+            if (y + height > PAGE_SIZE)
+            {
+                page++;
+                x = 0;
+                y = 0;
+                shelf = 0;
+            }
+            region.page = page;
+            region.x = x;
+            region.y = y;
+            x += width + PADDING;
+            shelf = Math.max(shelf, height);
+        }
+        return page + 1;
+    }
+
+    /**
+     * Draw page regions, page height is cropped to its content.
+     * 
+     * @param regions The placed regions.
+     * @param page The page index.
+     * @return The page image.
+     */
+    private static BufferedImage draw(List<Region> regions, int page)
+    {
+        int width = 1;
+        int height = 1;
+        for (final Region region : regions)
+        {
+            if (region.page == page)
+            {
+                width = Math.max(width, region.x + region.image.getWidth());
+                height = Math.max(height, region.y + region.image.getHeight());
+            }
+        }
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = image.createGraphics();
+        for (final Region region : regions)
+        {
+            if (region.page == page)
+            {
+                g.drawImage(region.image, region.x, region.y, null);
+            }
+        }
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Write atlas index.
+     * 
+     * @param regions The placed regions.
+     * @param pages The number of pages.
+     * @param file The index file.
+     * @throws IOException If error.
+     */
+    private static void writeIndex(List<Region> regions, int pages, Path file) throws IOException
+    {
+        final List<Region> sorted = new ArrayList<>(regions);
+        sorted.sort(Comparator.comparing(region -> region.path));
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+        {
+            writer.write("# Generated by " + AtlasPacker.class.getSimpleName() + ", do not edit");
+            writer.write(NEW_LINE);
+            writer.write(Atlas.KEY_PAGES + '=' + pages);
+            writer.write(NEW_LINE);
+            for (final Region region : sorted)
+            {
+                writer.write(region.path
+                             + '='
+                             + region.page
+                             + ','
+                             + region.x
+                             + ','
+                             + region.y
+                             + ','
+                             + region.image.getWidth()
+                             + ','
+                             + region.image.getHeight());
+                writer.write(NEW_LINE);
+            }
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private AtlasPacker()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Packed image.
+     */
+    private static final class Region
+    {
+        private final String path;
+        private final BufferedImage image;
+        private int page;
+        private int x;
+        private int y;
+
+        /**
+         * Create region.
+         * 
+         * @param path The image path relative to resources.
+         * @param image The image.
+         */
+        Region(String path, BufferedImage image)
+        {
+            super();
+
+            this.path = path;
+            this.image = image;
+        }
+    }
+}
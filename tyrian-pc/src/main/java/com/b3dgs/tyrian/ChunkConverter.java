@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.io.IOException;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSheetsConfig;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Convert level images to packed chunks.
+ * <p>
+ * Usage: <code>ChunkConverter &lt;resources directory&gt; &lt;theme&gt; &lt;last index&gt;</code>
+ * </p>
+ */
+public final class ChunkConverter
+{
+    /** Level image extension. */
+    private static final String EXTENSION_PNG = ".png";
+
+    /**
+     * Main function.
+     * 
+     * @param args The arguments.
+     * @throws IOException If error.
+     */
+    public static void main(String[] args) throws IOException // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, args[0]);
+
+        final String theme = args[1];
+        final int last = Integer.parseInt(args[2]);
+        for (int i = 0; i <= last; i++)
+        {
+            convert(Medias.create(Constant.FOLDER_LEVELS, theme, i + EXTENSION_PNG), theme);
+        }
+    }
+
+    /**
+     * Convert a level image to chunk, saved next to it.
+     * 
+     * @param level The level image.
+     * @param theme The theme name.
+     * @throws IOException If error.
+     */
+    private static void convert(Media level, String theme) throws IOException
+    {
+        final Services services = new Services();
+        final MapTileGame map = services.create(MapTileGame.class);
+        map.create(level, Medias.create(Constant.FOLDER_TILE, theme, TileSheetsConfig.FILENAME));
+
+        final String name = level.getName().replace(EXTENSION_PNG, MapChunk.EXTENSION);
+        try (FileWriting output = new FileWriting(Medias.create(level.getParentPath(), name)))
+        {
+            MapChunk.from(map).save(output);
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ChunkConverter()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
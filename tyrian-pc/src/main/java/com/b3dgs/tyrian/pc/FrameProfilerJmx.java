@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.pc;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.tyrian.FrameProfiler;
+import com.b3dgs.tyrian.FrameProfiler.Stage;
+
+/**
+ * Expose a {@link FrameProfiler} through JMX, under {@link #NAME}.
+ */
+public final class FrameProfilerJmx implements FrameProfilerMXBean
+{
+    /** Registered object name. */
+    public static final String NAME = "com.b3dgs.tyrian:type=FrameProfiler";
+    private static final long NANO_PER_MICRO = 1000L;
+    private static final int P50 = 0;
+    private static final int P95 = 1;
+    private static final int P99 = 2;
+
+    /**
+     * Register profiler bean in platform server.
+     * 
+     * @param profiler The exposed profiler.
+     * @throws LionEngineException If unable to register.
+     */
+    public static void register(FrameProfiler profiler)
+    {
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer()
+                             .registerMBean(new FrameProfilerJmx(profiler), new ObjectName(NAME));
+        }
+        catch (final JMException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    private final FrameProfiler profiler;
+
+    /**
+     * Create bean.
+     * 
+     * @param profiler The exposed profiler.
+     */
+    private FrameProfilerJmx(FrameProfiler profiler)
+    {
+        super();
+
+        this.profiler = profiler;
+    }
+
+    /**
+     * Get stages percentile.
+     * 
+     * @param percentile The percentile index in profiler summary.
+     * @return The durations by stage in microseconds.
+     */
+    private Map<String, Long> getPercentile(int percentile)
+    {
+        final Map<String, Long> durations = new LinkedHashMap<>();
+        for (final Stage stage : Stage.values())
+        {
+            durations.put(stage.name(), Long.valueOf(profiler.getSummary(stage)[percentile] / NANO_PER_MICRO));
+        }
+        return durations;
+    }
+
+    /*
+     * FrameProfilerMXBean
+     */
+
+    @Override
+    public Map<String, Long> getP50()
+    {
+        return getPercentile(P50);
+    }
+
+    @Override
+    public Map<String, Long> getP95()
+    {
+        return getPercentile(P95);
+    }
+
+    @Override
+    public Map<String, Long> getP99()
+    {
+        return getPercentile(P99);
+    }
+
+    @Override
+    public long getDrops()
+    {
+        return profiler.getDrops();
+    }
+
+    @Override
+    public double getDropped()
+    {
+        return profiler.getDropped();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.pc;
+
+import java.util.Map;
+
+/**
+ * Frame profiler management interface. Durations are in microseconds, keyed by stage name, and summarize the last
+ * {@link com.b3dgs.tyrian.FrameProfiler#SAMPLES} frames of the running world. Dropped late time is counted since
+ * start.
+ */
+public interface FrameProfilerMXBean
+{
+    /**
+     * Get the median stage durations.
+     * 
+     * @return The p50 durations by stage.
+     */
+    Map<String, Long> getP50();
+
+    /**
+     * Get the 95th percentile stage durations.
+     * 
+     * @return The p95 durations by stage.
+     */
+    Map<String, Long> getP95();
+
+    /**
+     * Get the 99th percentile stage durations.
+     * 
+     * @return The p99 durations by stage.
+     */
+    Map<String, Long> getP99();
+
+    /**
+     * Get the number of updates which dropped late time.
+     * 
+     * @return The updates with dropped time.
+     */
+    long getDrops();
+
+    /**
+     * Get the total dropped late time.
+     * 
+     * @return The dropped time, in extrapolation unit.
+     */
+    double getDropped();
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.pc;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.tyrian.SfxMixer;
+
+/**
+ * Java Sound implementation of {@link SfxMixer}. Sounds are decoded once to 16 bits stereo PCM at {@link #RATE}, and
+ * mixed on {@link #VOICES} voices by a daemon thread into a single output line.
+ */
+public final class JavaSoundMixer implements SfxMixer
+{
+    /** Number of voices. */
+    public static final int VOICES = 8;
+    /** Output sample rate. */
+    public static final float RATE = 44_100.0F;
+    /** Output channels. */
+    private static final int CHANNELS = 2;
+    /** Sample size in bits. */
+    private static final int SAMPLE_BITS = 16;
+    /** Sample size in bytes. */
+    private static final int SAMPLE_BYTES = SAMPLE_BITS / Byte.SIZE;
+    /** Frames mixed by write (about 12ms). */
+    private static final int FRAMES = 512;
+    /** Line buffer, in written blocks. */
+    private static final int LINE_BLOCKS = 4;
+    /** Output format. */
+    private static final AudioFormat FORMAT = new AudioFormat(RATE, SAMPLE_BITS, CHANNELS, true, false);
+
+    /**
+     * Decode sound to output format.
+     * 
+     * @param media The sound media.
+     * @return The interleaved stereo samples.
+     * @throws LionEngineException If unable to decode sound.
+     */
+    private static short[] decode(Media media)
+    {
+        try (InputStream input = new BufferedInputStream(media.getInputStream());
+             AudioInputStream source = AudioSystem.getAudioInputStream(input))
+        {
+            final AudioFormat format = source.getFormat();
+            final int channels = format.getChannels();
+            final AudioFormat pcm = new AudioFormat(format.getSampleRate(), SAMPLE_BITS, channels, true, false);
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(pcm, source))
+            {
+                return resample(decoded.readAllBytes(), channels, format.getSampleRate());
+            }
+        }
+        catch (final IOException | UnsupportedAudioFileException | IllegalArgumentException exception)
+        {
+            throw new LionEngineException(exception, media);
+        }
+    }
+
+    /**
+     * Convert 16 bits little endian samples to output rate and channels, with linear interpolation.
+     * 
+     * @param bytes The source samples.
+     * @param channels The source channels.
+     * @param rate The source sample rate.
+     * @return The interleaved stereo samples.
+     */
+    private static short[] resample(byte[] bytes, int channels, float rate)
+    {
+        final int frames = bytes.length / (SAMPLE_BYTES * channels);
+        if (frames == 0)
+        {
+            return new short[0];
+        }
+        final double step = rate / RATE;
+        final int count = (int) (frames / step);
+        final short[] samples = new short[count * CHANNELS];
+        for (int i = 0; i < count; i++)
+        {
+            final double position = i * step;
+            final int frame = (int) position;
+            final int next = Math.min(frame + 1, frames - 1);
+            final double ratio = position - frame;
+            for (int c = 0; c < CHANNELS; c++)
+            {
+                final int channel = Math.min(c, channels - 1);
+                final int a = getSample(bytes, frame * channels + channel);
+                final int b = getSample(bytes, next * channels + channel);
+                samples[i * CHANNELS + c] = (short) (a + (b - a) * ratio);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Get a 16 bits little endian sample.
+     * 
+     * @param bytes The samples.
+     * @param index The sample index.
+     * @return The sample value.
+     */
+    private static int getSample(byte[] bytes, int index)
+    {
+        final int offset = index * SAMPLE_BYTES;
+        return (short) (bytes[offset] & 0xFF | bytes[offset + 1] << Byte.SIZE);
+    }
+
+    private final java.util.Map<String, short[]> sounds = new ConcurrentHashMap<>();
+    private final Voice[] voices = new Voice[VOICES];
+    private final SourceDataLine line;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long order;
+
+    /**
+     * Open output line and start mixing.
+     * 
+     * @throws LionEngineException If no output line available.
+     */
+    public JavaSoundMixer()
+    {
+        super();
+
+        for (int i = 0; i < voices.length; i++)
+        {
+            voices[i] = new Voice();
+        }
+        try
+        {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, FRAMES * CHANNELS * SAMPLE_BYTES * LINE_BLOCKS);
+        }
+        catch (final LineUnavailableException | IllegalArgumentException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+        line.start();
+
+        thread = new Thread(this::mix, JavaSoundMixer.class.getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Get decoded sound, decoded on first call.
+     * 
+     * @param media The sound media.
+     * @return The decoded sound.
+     */
+    private short[] get(Media media)
+    {
+        return sounds.computeIfAbsent(media.getPath(), path -> decode(media));
+    }
+
+    /**
+     * Mixing loop, paced by the blocking line write.
+     */
+    private void mix()
+    {
+        final int[] mixed = new int[FRAMES * CHANNELS];
+        final byte[] output = new byte[mixed.length * SAMPLE_BYTES];
+        while (running)
+        {
+            Arrays.fill(mixed, 0);
+            synchronized (voices)
+            {
+                for (final Voice voice : voices)
+                {
+                    voice.mix(mixed);
+                }
+            }
+            for (int i = 0; i < mixed.length; i++)
+            {
+                final int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixed[i]));
+                output[i * SAMPLE_BYTES] = (byte) sample;
+                output[i * SAMPLE_BYTES + 1] = (byte) (sample >> Byte.SIZE);
+            }
+            line.write(output, 0, output.length);
+        }
+    }
+
+    /*
+     * SfxMixer
+     */
+
+    @Override
+    public void load(Media media)
+    {
+        get(media);
+    }
+
+    @Override
+    public void play(Media media, int priority, int cap)
+    {
+        Check.superiorStrict(cap, 0);
+
+        final String key = media.getPath();
+        final short[] samples = get(media);
+        synchronized (voices)
+        {
+            int instances = 0;
+            Voice oldest = null;
+            Voice free = null;
+            Voice victim = null;
+            for (final Voice voice : voices)
+            {
+                if (!voice.isActive())
+                {
+                    if (free == null)
+                    {
+                        free = voice;
+                    }
+                    continue;
+                }
+                if (voice.key.equals(key))
+                {
+                    instances++;
+                    if (oldest == null || voice.order < oldest.order)
+                    {
+                        oldest = voice;
+                    }
+                }
+                if (voice.priority <= priority && (victim == null || voice.isWeaker(victim)))
+                {
+                    victim = voice;
+                }
+            }
+
+            final Voice target;
+            if (instances >= cap)
+            {
+                target = oldest;
+            }
+            else if (free != null)
+            {
+                target = free;
+            }
+            else
+            {
+                target = victim;
+            }
+            if (target != null)
+            {
+                target.start(key, samples, priority, order++);
+            }
+        }
+    }
+
+    @Override
+    public void stop(Media media)
+    {
+        final String key = media.getPath();
+        synchronized (voices)
+        {
+            for (final Voice voice : voices)
+            {
+                if (voice.isActive() && voice.key.equals(key))
+                {
+                    voice.stop();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stopAll()
+    {
+        synchronized (voices)
+        {
+            for (final Voice voice : voices)
+            {
+                voice.stop();
+            }
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        running = false;
+        try
+        {
+            thread.join();
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        line.stop();
+        line.close();
+    }
+
+    /**
+     * Playing sound instance.
+     */
+    private static final class Voice
+    {
+        private String key;
+        private short[] samples;
+        private int position;
+        private int priority;
+        private long order;
+
+        /**
+         * Create voice.
+         */
+        Voice()
+        {
+            super();
+        }
+
+        /**
+         * Start playing sound from its beginning.
+         * 
+         * @param key The sound key.
+         * @param samples The sound samples.
+         * @param priority The sound priority.
+         * @param order The start order.
+         */
+        void start(String key, short[] samples, int priority, long order)
+        {
+            this.key = key;
+            this.samples = samples;
+            this.priority = priority;
+            this.order = order;
+            position = 0;
+        }
+
+        /**
+         * Stop playing.
+         */
+        void stop()
+        {
+            key = null;
+            samples = null;
+        }
+
+        /**
+         * Check if playing.
+         * 
+         * @return <code>true</code> if playing, <code>false</code> else.
+         */
+        boolean isActive()
+        {
+            return samples != null;
+        }
+
+        /**
+         * Check if this voice should be stolen before another one (lower priority, then older).
+         * 
+         * @param other The other voice.
+         * @return <code>true</code> if weaker, <code>false</code> else.
+         */
+        boolean isWeaker(Voice other)
+        {
+            return priority < other.priority || priority == other.priority && order < other.order;
+        }
+
+        /**
+         * Add next samples to mix, and stop at end.
+         * 
+         * @param mixed The mixed samples.
+         */
+        void mix(int[] mixed)
+        {
+            if (samples == null)
+            {
+                return;
+            }
+            final int count = Math.min(mixed.length, samples.length - position);
+            for (int i = 0; i < count; i++)
+            {
+                mixed[i] += samples[position + i];
+            }
+            position += count;
+            if (position >= samples.length)
+            {
+                stop();
+            }
+        }
+    }
+}
@@ -16,23 +16,40 @@
  */
 package com.b3dgs.tyrian.pc.ship;
 
+import java.io.IOException;
+import java.util.Optional;
+
 import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.awt.Mouse;
 import com.b3dgs.lionengine.game.Cursor;
+import com.b3dgs.lionengine.game.FeatureProvider;
 import com.b3dgs.lionengine.game.feature.Camera;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.FeatureModel;
+import com.b3dgs.lionengine.game.feature.Identifiable;
 import com.b3dgs.lionengine.game.feature.RoutineUpdate;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Setup;
-import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.InputRecorder;
+import com.b3dgs.tyrian.InputSampler;
 import com.b3dgs.tyrian.entity.ShipModel;
 
 /**
  * Ship control implementation.
+ * <p>
+ * Mouse is sampled once per frame by the {@link com.b3dgs.tyrian.World}, as {@link InputSampler} service. The sampled
+ * move is consumed by the first step, and the sampled fire by every step until next sample, so a click is fired even
+ * when the frame runs no step.
+ * </p>
+ * <p>
+ * Input is recorded for {@link com.b3dgs.tyrian.InputReplay} when an {@link InputRecorder} service is provided, as
+ * the {@link com.b3dgs.tyrian.Scene} does when launched with a record file. Recording ends when ship is destroyed, or
+ * when {@link com.b3dgs.tyrian.World} terminates.
+ * </p>
  */
 @FeatureInterface
-public final class ShipControllerPc extends FeatureModel implements RoutineUpdate
+public final class ShipControllerPc extends FeatureModel implements RoutineUpdate, InputSampler
 {
     private static final double SENSIBILITY = 1.0;
 
@@ -40,13 +57,15 @@ public final class ShipControllerPc extends FeatureModel implements RoutineUpdat
     private final Mouse mouse = context.getInputDevice(Mouse.class);
     private final Camera camera = services.get(Camera.class);
 
-    private final Transformable transformable;
     private final ShipModel model;
 
     private final Cursor cursor = new Cursor(services);
+    private final Optional<InputRecorder> recorder = services.getOptional(InputRecorder.class);
 
-    private double oldX;
-    private double oldY;
+    private double sampledX;
+    private double sampledY;
+    private boolean sampledFire;
+    private boolean consumed;
     private int count;
 
     /**
@@ -54,14 +73,12 @@ public final class ShipControllerPc extends FeatureModel implements RoutineUpdat
      * 
      * @param services The services reference.
      * @param setup The setup reference.
-     * @param transformable The transformable feature.
      * @param model The model feature.
      */
-    public ShipControllerPc(Services services, Setup setup, Transformable transformable, ShipModel model)
+    public ShipControllerPc(Services services, Setup setup, ShipModel model)
     {
         super(services, setup);
 
-        this.transformable = transformable;
         this.model = model;
 
         mouse.setCenter(context.getX() + context.getConfig().getOutput().getWidth() / 2,
@@ -70,55 +87,88 @@ public final class ShipControllerPc extends FeatureModel implements RoutineUpdat
         cursor.setSync(mouse);
         cursor.setViewer(camera);
         cursor.setSensibility(SENSIBILITY, SENSIBILITY);
+
+        services.add(this);
     }
 
     /**
-     * Update the transformable position.
+     * Close recorder if enabled.
      * 
-     * @param extrp The extrapolation value.
+     * @throws LionEngineException If unable to close record file.
      */
-    private void updatePosition(double extrp)
+    private void closeRecorder()
     {
-        if (count > 1)
-        {
-            transformable.moveLocation(extrp,
-                                       cursor.getX() - oldX,
-                                       cursor.getY() - oldY + model.getHitForce().getDirectionVertical());
-        }
-        else
-        {
-            count++;
-        }
-        final double width = transformable.getWidth() / 2.0;
-        final double maxX = camera.getWidth() + camera.getWidth() / 2.0 - width * 2;
-        if (transformable.getX() < width)
+        if (recorder.isPresent())
         {
-            transformable.teleportX(width);
+            try
+            {
+                recorder.get().close();
+            }
+            catch (final IOException exception)
+            {
+                throw new LionEngineException(exception);
+            }
         }
-        if (transformable.getX() > maxX)
+    }
+
+    @Override
+    public void prepare(FeatureProvider provider)
+    {
+        super.prepare(provider);
+
+        provider.getFeature(Identifiable.class).addListener(id -> closeRecorder());
+    }
+
+    /*
+     * InputSampler
+     */
+
+    @Override
+    public void sample(double extrp)
+    {
+        if (consumed)
         {
-            transformable.teleportX(maxX);
+            sampledFire = false;
+            consumed = false;
         }
-        if (transformable.getY() < camera.getY())
+        final double oldX = cursor.getX();
+        final double oldY = cursor.getY();
+        cursor.update(extrp);
+        // mouse.lock();
+
+        if (count > 1)
         {
-            transformable.teleportY(camera.getY());
+            sampledX += cursor.getX() - oldX;
+            sampledY += cursor.getY() - oldY;
         }
-        if (transformable.getY() > camera.getY() + camera.getHeight())
+        else
         {
-            transformable.teleportY(camera.getY() + camera.getHeight());
+            count++;
         }
+        sampledFire = sampledFire || mouse.isPushed();
     }
 
+    /*
+     * RoutineUpdate
+     */
+
     @Override
     public void update(double extrp)
     {
-        oldX = cursor.getX();
-        oldY = cursor.getY();
-        cursor.update(extrp);
-        // mouse.lock();
-        updatePosition(extrp);
+        final double dx = sampledX;
+        final double dy = sampledY;
+        final boolean fire = sampledFire;
+        sampledX = 0.0;
+        sampledY = 0.0;
+        consumed = true;
+
+        if (recorder.isPresent())
+        {
+            recorder.get().record(dx, dy, fire);
+        }
 
-        if (mouse.isPushed())
+        model.move(extrp, dx, dy);
+        if (fire)
         {
             model.fire();
         }
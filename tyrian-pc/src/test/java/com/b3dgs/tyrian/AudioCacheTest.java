@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.audio.Audio;
+
+/**
+ * Test {@link AudioCache}.
+ */
+@ExtendWith(TestFixture.class)
+final class AudioCacheTest
+{
+    /** Test sound. */
+    private static final Media SOUND = AudioCache.getMedia("weapon_pulse");
+
+    /**
+     * Release test sound references.
+     */
+    @AfterEach
+    void cleanUp()
+    {
+        while (AudioCache.getReferences(SOUND) > 0)
+        {
+            AudioCache.release(SOUND);
+        }
+        AudioCache.trim();
+    }
+
+    /**
+     * Test sound is shared and counted by acquisition.
+     */
+    @Test
+    void testReferences()
+    {
+        assertEquals(0, AudioCache.getReferences(SOUND));
+
+        final Audio first = AudioCache.acquire(SOUND);
+        final Audio second = AudioCache.acquire(SOUND);
+
+        assertTrue(first == second);
+        assertEquals(2, AudioCache.getReferences(SOUND));
+
+        AudioCache.release(SOUND);
+        assertEquals(1, AudioCache.getReferences(SOUND));
+
+        AudioCache.release(SOUND);
+        AudioCache.release(SOUND);
+        assertEquals(0, AudioCache.getReferences(SOUND));
+    }
+
+    /**
+     * Test trim unloads unreferenced sounds only.
+     */
+    @Test
+    void testTrim()
+    {
+        final Audio audio = AudioCache.acquire(SOUND);
+        AudioCache.trim();
+
+        assertTrue(audio == AudioCache.acquire(SOUND));
+        assertEquals(2, AudioCache.getReferences(SOUND));
+
+        AudioCache.release(SOUND);
+        AudioCache.release(SOUND);
+        AudioCache.trim();
+
+        assertTrue(audio != AudioCache.acquire(SOUND));
+        assertEquals(1, AudioCache.getReferences(SOUND));
+    }
+}
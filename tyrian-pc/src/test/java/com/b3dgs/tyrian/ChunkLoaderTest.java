@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+
+/**
+ * Test {@link ChunkLoader}.
+ */
+@ExtendWith(TestFixture.class)
+final class ChunkLoaderTest
+{
+    /**
+     * Clear cache.
+     */
+    @AfterEach
+    void cleanUp()
+    {
+        ChunkLoader.clear();
+    }
+
+    /**
+     * Test chunks are loaded once by theme.
+     */
+    @Test
+    void testCache()
+    {
+        assertFalse(ChunkLoader.isLoaded(World.THEME));
+
+        final List<MapChunk> chunks = ChunkLoader.get(World.THEME, 3);
+
+        assertTrue(ChunkLoader.isLoaded(World.THEME));
+        assertEquals(4, chunks.size());
+
+        final List<MapChunk> cached = ChunkLoader.get(World.THEME, 3);
+        for (int i = 0; i < chunks.size(); i++)
+        {
+            assertTrue(chunks.get(i) == cached.get(i));
+        }
+    }
+
+    /**
+     * Test a larger count loads the missing chunks, and a smaller one uses the cache.
+     */
+    @Test
+    void testCount()
+    {
+        final List<MapChunk> few = ChunkLoader.get(World.THEME, 1);
+        final List<MapChunk> more = ChunkLoader.get(World.THEME, 5);
+        final List<MapChunk> less = ChunkLoader.get(World.THEME, 2);
+
+        assertEquals(2, few.size());
+        assertEquals(6, more.size());
+        assertEquals(3, less.size());
+        assertTrue(more.get(2) == less.get(2));
+    }
+}
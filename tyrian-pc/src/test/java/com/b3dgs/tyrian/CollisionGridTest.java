@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+
+/**
+ * Test {@link CollisionGrid}.
+ */
+final class CollisionGridTest
+{
+    private static final int BULLET = 1;
+    private static final int METEOR = 3;
+    private static final int ACCEPT_METEOR = 1 << METEOR;
+    private static final int ACCEPT_BULLET = 1 << BULLET;
+    /** Centered 10x10 box. */
+    private static final CollisionShape BOX = new CollisionShape(new double[]
+    {
+        -5.0, -5.0, 10.0, 10.0
+    }, new Collision[]
+    {
+        Collision.AUTOMATIC
+    });
+
+    private final Camera camera = new Camera();
+    private CollisionGrid grid;
+
+    /**
+     * Prepare grid over a 320x240 view.
+     */
+    @BeforeEach
+    void prepare()
+    {
+        camera.setView(0, 0, 320, 240, 240);
+        camera.teleport(0.0, 0.0);
+        grid = new CollisionGrid(camera);
+        grid.reset();
+    }
+
+    /**
+     * Test only intersecting entries of accepted groups are hit, neighbor cells included.
+     */
+    @Test
+    void testNeighbor()
+    {
+        final int bullet = grid.add(78.0, 10.0, BULLET, ACCEPT_METEOR, BOX);
+        final int near = grid.add(85.0, 12.0, METEOR, ACCEPT_BULLET, BOX);
+        grid.add(150.0, 10.0, METEOR, ACCEPT_BULLET, BOX);
+        grid.add(300.0, 200.0, METEOR, ACCEPT_BULLET, BOX);
+
+        assertEquals(1, grid.collide(bullet));
+        assertEquals(near, grid.getHitEntry(0));
+        assertEquals(0, grid.getHitPair(0));
+        assertEquals(2, grid.getTests());
+
+        assertEquals(1, grid.collide(near));
+        assertEquals(bullet, grid.getHitEntry(0));
+    }
+
+    /**
+     * Test entries only test accepted groups, whatever the number of other groups around.
+     */
+    @Test
+    void testGroups()
+    {
+        final int[] bullets = new int[100];
+        for (int i = 0; i < bullets.length; i++)
+        {
+            bullets[i] = grid.add(10.0 + i % 10, 10.0, BULLET, ACCEPT_METEOR, BOX);
+        }
+        for (final int bullet : bullets)
+        {
+            assertEquals(0, grid.collide(bullet));
+        }
+        assertEquals(0, grid.getTests());
+
+        final int passive = grid.add(20.0, 10.0, METEOR, 0, BOX);
+
+        assertEquals(1, grid.collide(bullets[0]));
+        assertEquals(0, grid.collide(passive));
+    }
+
+    /**
+     * Test entry accepting its own group does not hit itself.
+     */
+    @Test
+    void testSelf()
+    {
+        final int first = grid.add(10.0, 10.0, METEOR, ACCEPT_METEOR, BOX);
+
+        assertEquals(0, grid.collide(first));
+
+        final int second = grid.add(15.0, 10.0, METEOR, ACCEPT_METEOR, BOX);
+
+        assertEquals(1, grid.collide(first));
+        assertEquals(second, grid.getHitEntry(0));
+    }
+
+    /**
+     * Test intersecting boxes pair index.
+     */
+    @Test
+    void testPair()
+    {
+        final CollisionShape twice = new CollisionShape(new double[]
+        {
+            -20.0, 0.0, 4.0, 4.0, 20.0, 0.0, 4.0, 4.0
+        }, new Collision[]
+        {
+            Collision.AUTOMATIC, Collision.AUTOMATIC
+        });
+        final int bullet = grid.add(50.0, 50.0, BULLET, ACCEPT_METEOR, BOX);
+        grid.add(30.0, 48.0, METEOR, 0, twice);
+
+        assertEquals(1, grid.collide(bullet));
+        assertEquals(1, grid.getHitPair(0));
+    }
+
+    /**
+     * Test entries outside grid or of unsupported group never collide.
+     */
+    @Test
+    void testOutside()
+    {
+        grid.add(10.0, 10.0, METEOR, ACCEPT_BULLET, BOX);
+        final int outside = grid.add(-500.0, 10.0, BULLET, ACCEPT_METEOR, BOX);
+        final int invalid = grid.add(10.0, 10.0, CollisionGrid.GROUPS, ACCEPT_METEOR, BOX);
+
+        assertEquals(0, grid.collide(outside));
+        assertEquals(0, grid.collide(invalid));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.Direction;
+import com.b3dgs.lionengine.game.DirectionNone;
+import com.b3dgs.lionengine.game.Force;
+import com.b3dgs.lionengine.game.feature.Setup;
+
+/**
+ * Test {@link ConfigCache}.
+ */
+@ExtendWith(TestFixture.class)
+final class ConfigCacheTest
+{
+    /** Featurable with a force and a node. */
+    private static final String FEATURABLE = "<lionengine:force velocity=\"0\" sensibility=\"0\" "
+                                             + "vx=\"1.5\" vy=\"-2\"/>\n"
+                                             + "<node value=\"3\">text</node>\n";
+
+    /**
+     * Clear cache.
+     */
+    @AfterEach
+    void cleanUp()
+    {
+        ConfigCache.clear();
+    }
+
+    /**
+     * Create the test setup.
+     * 
+     * @param folder The temporary folder.
+     * @return The setup.
+     * @throws IOException If error.
+     */
+    private static Setup createSetup(Path folder) throws IOException
+    {
+        return new Setup(TestFixture.createFeaturable(folder, FEATURABLE));
+    }
+
+    /**
+     * Test force is shared as an immutable direction.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testForce(@TempDir Path folder) throws IOException
+    {
+        final Setup setup = createSetup(folder);
+        final Direction force = ConfigCache.getForce(setup, DirectionNone.INSTANCE);
+
+        assertFalse(force instanceof Force);
+        assertEquals(1.5, force.getDirectionHorizontal());
+        assertEquals(-2.0, force.getDirectionVertical());
+        assertTrue(force == ConfigCache.getForce(setup, DirectionNone.INSTANCE));
+    }
+
+    /**
+     * Test integer with and without default value do not share their cached value.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testInteger(@TempDir Path folder) throws IOException
+    {
+        final Setup setup = createSetup(folder);
+
+        assertEquals(7, ConfigCache.getInteger(setup, 7, "missing", "node"));
+        assertEquals(8, ConfigCache.getInteger(setup, 8, "missing", "node"));
+        assertThrows(LionEngineException.class, () -> ConfigCache.getInteger(setup, "missing", "node"));
+
+        assertEquals(3, ConfigCache.getInteger(setup, "value", "node"));
+        assertEquals(3, ConfigCache.getInteger(setup, 7, "value", "node"));
+    }
+
+    /**
+     * Test values are keyed by owner and path.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testKeys(@TempDir Path folder) throws IOException
+    {
+        final Setup setup = createSetup(folder);
+
+        assertEquals("a", ConfigCache.get(setup, ConfigCacheTest.class, s -> "a", "node"));
+        assertEquals("b", ConfigCache.get(setup, Object.class, s -> "b", "node"));
+        assertEquals("c", ConfigCache.get(setup, ConfigCacheTest.class, s -> "c", "other"));
+        assertEquals("a", ConfigCache.get(setup, ConfigCacheTest.class, s -> "d", "node"));
+        assertEquals(Optional.of("text"), ConfigCache.getText(setup, "node"));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Services;
+
+/**
+ * Test {@link FeaturablePool}.
+ */
+@ExtendWith(TestFixture.class)
+final class FeaturablePoolTest
+{
+    /**
+     * Test destroyed instance is pooled once and reacquired.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testReacquire(@TempDir Path folder) throws IOException
+    {
+        final Media media = TestFixture.createFeaturable(folder, "");
+        final Services services = new Services();
+        services.add(new Factory(services));
+        final Handler handler = services.add(new Handler(services));
+        final FeaturablePool pool = new FeaturablePool(services);
+
+        final Featurable featurable = pool.acquire(media);
+        assertEquals(1L, pool.getMisses(media));
+
+        handler.add(featurable);
+        handler.update(1.0);
+        featurable.getFeature(Identifiable.class).destroy();
+        handler.update(1.0);
+
+        assertEquals(1, pool.getAvailable(media));
+
+        pool.notifyHandlableRemoved(featurable);
+
+        assertEquals(1, pool.getAvailable(media));
+
+        final Featurable recycled = pool.acquire(media);
+
+        assertTrue(featurable == recycled);
+        assertEquals(1L, pool.getHits(media));
+        assertEquals(0, pool.getAvailable(media));
+
+        handler.add(recycled);
+        handler.update(1.0);
+        recycled.getFeature(Identifiable.class).destroy();
+        handler.update(1.0);
+
+        assertEquals(1, pool.getAvailable(media));
+    }
+
+    /**
+     * Test pooled factory serves bounded medias from pool, and creates the others.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testPooledFactory(@TempDir Path folder) throws IOException
+    {
+        final Media media = TestFixture.createFeaturable(folder, "");
+        final Services services = new Services();
+        final Factory factory = services.add(new PooledFactory(services));
+        final Handler handler = services.add(new Handler(services));
+        final FeaturablePool pool = services.add(new FeaturablePool(services));
+
+        final Featurable created = factory.create(media);
+        assertEquals(0L, pool.getMisses(media));
+
+        pool.setLimit(media, 1);
+        final Featurable featurable = factory.create(media);
+        assertEquals(1L, pool.getMisses(media));
+        assertFalse(created == featurable);
+
+        handler.add(featurable);
+        handler.update(1.0);
+        featurable.getFeature(Identifiable.class).destroy();
+        handler.update(1.0);
+
+        assertTrue(featurable == factory.create(media));
+        assertEquals(1L, pool.getHits(media));
+    }
+
+    /**
+     * Test prewarm respects the pool limit.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testPrewarmLimit(@TempDir Path folder) throws IOException
+    {
+        final Media media = TestFixture.createFeaturable(folder, "");
+        final Services services = new Services();
+        services.add(new Factory(services));
+        services.add(new Handler(services));
+        final FeaturablePool pool = new FeaturablePool(services);
+        pool.setLimit(media, 2);
+
+        pool.prewarm(media, 4);
+
+        assertEquals(2, pool.getAvailable(media));
+
+        pool.acquire(media);
+        pool.acquire(media);
+        pool.acquire(media);
+
+        assertEquals(2L, pool.getHits(media));
+        assertEquals(1L, pool.getMisses(media));
+    }
+
+    /**
+     * Test limit caps alive instances until they are removed.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testAlive(@TempDir Path folder) throws IOException
+    {
+        final Media media = TestFixture.createFeaturable(folder, "");
+        final Services services = new Services();
+        services.add(new Factory(services));
+        final Handler handler = services.add(new Handler(services));
+        final FeaturablePool pool = new FeaturablePool(services);
+        pool.setLimit(media, 1);
+
+        assertTrue(pool.hasRoom(media));
+
+        final Featurable featurable = pool.acquire(media);
+        handler.add(featurable);
+        handler.update(1.0);
+
+        assertEquals(1, pool.getAlive(media));
+        assertFalse(pool.hasRoom(media));
+
+        featurable.getFeature(Identifiable.class).destroy();
+        handler.update(1.0);
+        pool.notifyHandlableRemoved(featurable);
+
+        assertEquals(0, pool.getAlive(media));
+        assertTrue(pool.hasRoom(media));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.tyrian.FrameProfiler.Stage;
+
+/**
+ * Test {@link FrameProfiler}.
+ */
+final class FrameProfilerTest
+{
+    /**
+     * Test samples are recorded by stage, and ring buffer keeps the last ones.
+     */
+    @Test
+    void testSummary()
+    {
+        final FrameProfiler profiler = new FrameProfiler();
+        final int frames = FrameProfiler.SAMPLES * 2;
+        for (int i = 0; i < frames; i++)
+        {
+            profiler.start();
+            profiler.stop(Stage.MAP);
+            profiler.stop(Stage.HANDLER);
+        }
+
+        assertEquals((long) frames, profiler.getCount(Stage.HANDLER));
+        assertEquals(0L, profiler.getCount(Stage.HUD));
+
+        final long[] summary = profiler.getSummary(Stage.HANDLER);
+        assertTrue(summary[0] >= 0L);
+        assertTrue(summary[0] <= summary[1]);
+        assertTrue(summary[1] <= summary[2]);
+    }
+
+    /**
+     * Test dropped late time is accumulated apart from stages.
+     */
+    @Test
+    void testDropped()
+    {
+        final FrameProfiler profiler = new FrameProfiler();
+        profiler.drop(1.5);
+        profiler.drop(0.5);
+
+        assertEquals(2L, profiler.getDrops());
+        assertEquals(2.0, profiler.getDropped());
+        assertEquals(0L, profiler.getCount(Stage.CURSOR));
+    }
+}
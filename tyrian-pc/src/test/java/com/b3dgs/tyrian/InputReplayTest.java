@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+
+/**
+ * Test {@link InputRecorder} and {@link InputReplay}.
+ */
+final class InputReplayTest
+{
+    /**
+     * Test recorded input is replayed identically, deltas keeping their full precision.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testRecordReplay(@TempDir Path folder) throws IOException
+    {
+        final Media media = Medias.get(new File(folder.toFile(), "input.replay"));
+        try (InputRecorder recorder = new InputRecorder(media, 42L))
+        {
+            recorder.record(1.0, -2.0, false);
+            recorder.record(0.1, 1.0 / 3.0, true);
+            assertEquals(2, recorder.getTicks());
+        }
+
+        final InputReplay replay = InputReplay.read(media);
+        assertEquals(42L, replay.getSeed());
+        assertEquals(2, replay.getTicks());
+
+        assertTrue(replay.next());
+        assertEquals(1.0, replay.getDx());
+        assertEquals(-2.0, replay.getDy());
+        assertFalse(replay.isFire());
+
+        assertTrue(replay.next());
+        assertEquals(0.1, replay.getDx());
+        assertEquals(1.0 / 3.0, replay.getDy());
+        assertTrue(replay.isFire());
+
+        assertFalse(replay.next());
+        assertFalse(replay.next());
+    }
+
+    /**
+     * Test invalid replay file.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testInvalid(@TempDir Path folder) throws IOException
+    {
+        final Path file = folder.resolve("invalid.replay");
+        Files.write(file, new byte[]
+        {
+            1, 2, 3
+        });
+
+        assertThrows(IOException.class, () -> InputReplay.read(Medias.get(file.toFile())));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.io.FileWriting;
+
+/**
+ * Test {@link MapChunk}.
+ */
+@ExtendWith(TestFixture.class)
+final class MapChunkTest
+{
+    /**
+     * Test saved chunk is read identically.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testSaveRead(@TempDir Path folder) throws IOException
+    {
+        final Media level = Medias.create(Constant.FOLDER_LEVELS, World.THEME, "0" + MapChunk.EXTENSION);
+        final MapChunk chunk = MapChunk.read(level);
+        final Media media = Medias.get(new File(folder.toFile(), "0" + MapChunk.EXTENSION));
+        try (FileWriting output = new FileWriting(media))
+        {
+            chunk.save(output);
+        }
+
+        final MapChunk read = MapChunk.read(media);
+
+        assertEquals(chunk.getTileWidth(), read.getTileWidth());
+        assertEquals(chunk.getTileHeight(), read.getTileHeight());
+        assertEquals(chunk.getInTileWidth(), read.getInTileWidth());
+        assertEquals(chunk.getInTileHeight(), read.getInTileHeight());
+        for (int ty = 0; ty < chunk.getInTileHeight(); ty++)
+        {
+            for (int tx = 0; tx < chunk.getInTileWidth(); tx++)
+            {
+                assertEquals(chunk.getTile(tx, ty), read.getTile(tx, ty));
+            }
+        }
+    }
+
+    /**
+     * Test truncated chunks are rejected.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testTruncated(@TempDir Path folder) throws IOException
+    {
+        final File header = new File(folder.toFile(), "header" + MapChunk.EXTENSION);
+        Files.write(header.toPath(), new byte[3]);
+        assertThrows(IOException.class, () -> MapChunk.read(Medias.get(header)));
+
+        final File tiles = new File(folder.toFile(), "tiles" + MapChunk.EXTENSION);
+        Files.write(tiles.toPath(), new byte[]
+        {
+            0, 16, 0, 16, 0, 2, 0, 2, 0
+        });
+        assertThrows(IOException.class, () -> MapChunk.read(Medias.get(tiles)));
+    }
+
+    /**
+     * Test chunks with a negative or empty size in header are rejected.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testInvalidHeader(@TempDir Path folder) throws IOException
+    {
+        final File negative = new File(folder.toFile(), "negative" + MapChunk.EXTENSION);
+        Files.write(negative.toPath(), new byte[]
+        {
+            0, 16, 0, 16, -1, -1, 0, 2, 0, 0
+        });
+        assertThrows(IOException.class, () -> MapChunk.read(Medias.get(negative)));
+
+        final File empty = new File(folder.toFile(), "empty" + MapChunk.EXTENSION);
+        Files.write(empty.toPath(), new byte[]
+        {
+            0, 0, 0, 16, 0, 1, 0, 1, 0, 0
+        });
+        assertThrows(IOException.class, () -> MapChunk.read(Medias.get(empty)));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+
+/**
+ * Test {@link ParallelUpdater} and {@link CommandBuffer}.
+ */
+@ExtendWith(TestFixture.class)
+final class ParallelUpdaterTest
+{
+    /** Featurable with a test routine. */
+    private static final String FEATURABLE = "<lionengine:features>
+"
+                                             + "<lionengine:feature>"
+                                             + "com.b3dgs.lionengine.game.feature.TransformableModel"
+                                             + "</lionengine:feature>
+"
+                                             + "<lionengine:feature>com.b3dgs.tyrian.TestRoutine</lionengine:feature>
+"
+                                             + "</lionengine:features>
+";
+    /** Routines above parallel threshold. */
+    private static final int ROUTINES = 200;
+
+    /**
+     * Test moves are applied after join, on the calling thread, in routines order.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testOrder(@TempDir Path folder) throws IOException
+    {
+        final Media media = TestFixture.createFeaturable(folder, FEATURABLE);
+        final Services services = new Services();
+        final Factory factory = services.add(new Factory(services));
+        final Handler handler = services.add(new Handler(services));
+        services.add(new FeaturablePool(services));
+        final ParallelUpdater updater = new ParallelUpdater(services);
+
+        final List<Featurable> featurables = new ArrayList<>();
+        final List<Transformable> moved = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < ROUTINES; i++)
+        {
+            final Featurable featurable = factory.create(media);
+            featurable.getFeature(Transformable.class).addListener(transformable ->
+            {
+                moved.add(transformable);
+                threads.add(Thread.currentThread());
+            });
+            featurables.add(featurable);
+            handler.add(featurable);
+        }
+        handler.update(1.0);
+        assertEquals(ROUTINES, updater.getRoutines());
+
+        updater.update(1.0);
+
+        assertEquals(ROUTINES, moved.size());
+        for (int i = 0; i < ROUTINES; i++)
+        {
+            final Featurable featurable = featurables.get(i);
+            assertTrue(featurable.getFeature(Transformable.class) == moved.get(i));
+            assertTrue(Thread.currentThread() == threads.get(i));
+            assertEquals(1.0, featurable.getFeature(Transformable.class).getX());
+            assertTrue(featurable.getFeature(TestRoutine.class).getThread() != null);
+        }
+    }
+
+    /**
+     * Test removed routines are not updated anymore.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testRemoved(@TempDir Path folder) throws IOException
+    {
+        final Media media = TestFixture.createFeaturable(folder, FEATURABLE);
+        final Services services = new Services();
+        final Factory factory = services.add(new Factory(services));
+        final Handler handler = services.add(new Handler(services));
+        services.add(new FeaturablePool(services));
+        final ParallelUpdater updater = new ParallelUpdater(services);
+
+        final Featurable first = factory.create(media);
+        final Featurable second = factory.create(media);
+        handler.add(first);
+        handler.add(second);
+        handler.update(1.0);
+
+        first.getFeature(Identifiable.class).destroy();
+        handler.update(1.0);
+        updater.update(1.0);
+
+        assertEquals(1, updater.getRoutines());
+        assertEquals(0.0, first.getFeature(Transformable.class).getX());
+        assertEquals(1.0, second.getFeature(Transformable.class).getX());
+    }
+
+    /**
+     * Test buffer applies moves before spawns and destroys, and is cleared once applied.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testApply(@TempDir Path folder) throws IOException
+    {
+        final Media media = TestFixture.createFeaturable(folder, FEATURABLE);
+        final Services services = new Services();
+        final Factory factory = services.add(new Factory(services));
+        final Handler handler = services.add(new Handler(services));
+        final FeaturablePool pool = services.add(new FeaturablePool(services));
+
+        final Featurable featurable = factory.create(media);
+        handler.add(featurable);
+        handler.update(1.0);
+
+        final Transformable transformable = featurable.getFeature(Transformable.class);
+        final List<String> events = new ArrayList<>();
+        transformable.addListener(t -> events.add("move"));
+        featurable.getFeature(Identifiable.class).addListener(id -> events.add("destroy"));
+
+        final CommandBuffer commands = new CommandBuffer();
+        commands.destroy(featurable.getFeature(Identifiable.class));
+        commands.move(transformable, 2.0, -1.0);
+        assertEquals(0.0, transformable.getX());
+
+        commands.apply(pool, handler);
+
+        assertEquals(2.0, transformable.getX());
+        assertEquals(-1.0, transformable.getY());
+        assertEquals(List.of("move", "destroy"), events);
+
+        commands.apply(pool, handler);
+
+        assertEquals(2.0, transformable.getX());
+    }
+}
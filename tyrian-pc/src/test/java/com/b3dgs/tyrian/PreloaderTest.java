@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.LionEngineException;
+
+/**
+ * Test {@link Preloader}.
+ */
+final class PreloaderTest
+{
+    /**
+     * Wait for preloader completion.
+     * 
+     * @param preloader The preloader reference.
+     * @throws InterruptedException If interrupted.
+     */
+    private static void await(Preloader preloader) throws InterruptedException
+    {
+        final long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (!preloader.isDone() && System.nanoTime() < timeout)
+        {
+            Thread.sleep(1L);
+        }
+    }
+
+    /**
+     * Test tasks run after their dependencies, and progress reaches completion.
+     * 
+     * @throws InterruptedException If interrupted.
+     */
+    @Test
+    void testDependencies() throws InterruptedException
+    {
+        final List<String> order = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Preloader preloader = new Preloader().add("a", () ->
+        {
+            try
+            {
+                latch.await();
+            }
+            catch (final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+            order.add("a");
+        }).add("b", () -> order.add("b")).add("c", () -> order.add("c"), "a", "b");
+
+        assertEquals(0.0, preloader.getProgress());
+        preloader.start();
+        assertFalse(preloader.isDone());
+
+        latch.countDown();
+        await(preloader);
+
+        assertTrue(preloader.isDone());
+        assertEquals(1.0, preloader.getProgress());
+        assertEquals(3, order.size());
+        assertEquals("c", order.get(2));
+    }
+
+    /**
+     * Test task failure is thrown on poll.
+     */
+    @Test
+    void testFailure()
+    {
+        final Preloader preloader = new Preloader().add("a", () ->
+        {
+            throw new IllegalStateException();
+        });
+        preloader.start();
+
+        assertThrows(LionEngineException.class, () -> await(preloader));
+    }
+
+    /**
+     * Test invalid graph.
+     */
+    @Test
+    void testInvalid()
+    {
+        final Preloader preloader = new Preloader();
+
+        assertThrows(LionEngineException.class, () -> preloader.add("a", PreloaderTest::nothing, "missing"));
+        preloader.add("a", PreloaderTest::nothing);
+        assertThrows(LionEngineException.class, () -> preloader.add("a", PreloaderTest::nothing));
+        assertEquals(0.0, preloader.getProgress());
+        preloader.start();
+        assertThrows(LionEngineException.class, () -> preloader.add("b", PreloaderTest::nothing));
+        assertThrows(LionEngineException.class, preloader::start);
+    }
+
+    /**
+     * Empty task.
+     */
+    private static void nothing()
+    {
+        // Nothing to do
+    }
+}
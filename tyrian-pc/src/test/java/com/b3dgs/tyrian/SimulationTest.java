@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.background.Background;
+import com.b3dgs.tyrian.entity.ShipModel;
+
+/**
+ * Test headless {@link Simulation}.
+ */
+@ExtendWith(TestFixture.class)
+final class SimulationTest
+{
+    /**
+     * Test simulation run.
+     */
+    @Test
+    void testRun()
+    {
+        try (Simulation simulation = new Simulation())
+        {
+            assertEquals(0.0, simulation.getTicksPerSecond());
+            assertTrue(simulation.run(600, Simulation.EXTRP) > 0.0);
+            assertTrue(simulation.run(600, Simulation.EXTRP) > 0.0);
+            assertEquals(1200L, simulation.getTicks());
+            assertTrue(simulation.getTicksPerSecond() > 0.0);
+        }
+    }
+
+    /**
+     * Test sound effects state is restored on close.
+     */
+    @Test
+    void testClose()
+    {
+        assertTrue(Sfx.isEnabled());
+
+        final Simulation simulation = new Simulation();
+        assertFalse(Sfx.isEnabled());
+
+        simulation.close();
+        assertTrue(Sfx.isEnabled());
+    }
+
+    /**
+     * Get the world state: ship state and every featurable position, sorted.
+     * 
+     * @param services The world services.
+     * @return The world state.
+     */
+    private static List<String> getState(Services services)
+    {
+        final List<String> state = new ArrayList<>();
+        for (final Featurable featurable : services.get(Handler.class).values())
+        {
+            if (featurable.hasFeature(Transformable.class))
+            {
+                final Transformable transformable = featurable.getFeature(Transformable.class);
+                state.add(featurable.getMedia().getPath() + " " + transformable.getX() + " " + transformable.getY());
+            }
+        }
+        Collections.sort(state);
+
+        final ShipModel ship = services.get(ShipModel.class);
+        state.add("shield " + ship.getShield().getCurrent());
+        state.add("armor " + ship.getArmor().getCurrent());
+        state.add("energy " + ship.getEnergy().getCurrent());
+        state.add("front " + ship.getFront().getLevel());
+        return state;
+    }
+
+    /**
+     * Test simulations with same seed run identically.
+     */
+    @Test
+    void testSeed()
+    {
+        final Services services1 = Simulation.createServices(1L);
+        final Services services2 = Simulation.createServices(1L);
+        try (Simulation simulation1 = new Simulation(services1);
+             Simulation simulation2 = new Simulation(services2))
+        {
+            simulation1.run(600, Simulation.EXTRP);
+            simulation2.run(600, Simulation.EXTRP);
+        }
+
+        assertEquals(getState(services1), getState(services2));
+        final Media media = Medias.create(Constant.FOLDER_ENTITY, Constant.FOLDER_DYNAMIC, "h.xml");
+        assertEquals(services1.get(FeaturablePool.class).getHits(media),
+                     services2.get(FeaturablePool.class).getHits(media));
+        assertEquals(services1.get(Rng.class).nextInt(Integer.MAX_VALUE - 1),
+                     services2.get(Rng.class).nextInt(Integer.MAX_VALUE - 1));
+    }
+
+    /**
+     * Test background does not change the world run, as it is skipped when headless.
+     */
+    @Test
+    void testSeedBackground()
+    {
+        final Services services1 = Simulation.createServices(1L);
+        final Services services2 = Simulation.createServices(1L);
+        try (Simulation simulation1 = new Simulation(services1);
+             Simulation simulation2 = new Simulation(services2))
+        {
+            final Rng rng = services2.get(Rng.class);
+            final Background background = new Background(services2.get(Camera.class), rng.derive(Background.SEED_SALT));
+            for (int i = 0; i < 600; i++)
+            {
+                background.update(Simulation.EXTRP);
+                simulation2.run(1, Simulation.EXTRP);
+            }
+            simulation1.run(600, Simulation.EXTRP);
+        }
+
+        assertEquals(getState(services1), getState(services2));
+    }
+
+    /**
+     * Get the ship position.
+     * 
+     * @param services The world services.
+     * @return The ship position.
+     */
+    private static String getShip(Services services)
+    {
+        final Transformable transformable = services.get(ShipModel.class).getFeature(Transformable.class);
+        return transformable.getX() + " " + transformable.getY();
+    }
+
+    /**
+     * Run a simulation replaying input.
+     * 
+     * @param media The replay file.
+     * @return The ship final position.
+     * @throws IOException If unable to read replay.
+     */
+    private static String replay(Media media) throws IOException
+    {
+        final InputReplay replay = InputReplay.read(media);
+        final Services services = Simulation.createServices(replay);
+        try (Simulation simulation = new Simulation(services))
+        {
+            simulation.run(replay.getTicks(), Simulation.EXTRP);
+        }
+        return getShip(services);
+    }
+
+    /**
+     * Test recorder is closed on simulation close, and its input replays the ship to the same final position.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testRecordReplay(@TempDir Path folder) throws IOException
+    {
+        final Media media = Medias.get(new File(folder.toFile(), "input.replay"));
+        final Services recorded = Simulation.createServices(3L);
+        final InputRecorder recorder = recorded.add(new InputRecorder(media, 3L));
+        try (Simulation simulation = new Simulation(recorded))
+        {
+            for (int i = 0; i < 250; i++)
+            {
+                recorder.record(i % 40 < 20 ? 1.0 : -0.5, i % 30 < 15 ? -1.0 : 0.5, i % 3 == 0);
+                simulation.run(1, Simulation.EXTRP);
+            }
+        }
+        assertEquals(250, InputReplay.read(media).getTicks());
+
+        final String idle = getShip(recorded);
+        final String replayed = replay(media);
+        assertNotEquals(idle, replayed);
+        assertEquals(replayed, replay(media));
+    }
+}
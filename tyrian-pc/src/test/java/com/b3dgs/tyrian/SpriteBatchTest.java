@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.graphic.ColorRgba;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+
+/**
+ * Test {@link SpriteBatch}.
+ */
+@ExtendWith(TestFixture.class)
+final class SpriteBatchTest
+{
+    /** Packed projectiles sheet. */
+    private static final Media PROJECTILES = Medias.create("projectile", "projectiles.png");
+    /** Packed entity sheet. */
+    private static final Media ENTITY = Medias.create(Constant.FOLDER_ENTITY, "dynamic", "h.png");
+    /** Image not packed in atlas. */
+    private static final Media UNPACKED = Medias.create("level", "images", "3.png");
+
+    private Atlas atlas;
+    private SpriteBatch batch;
+    private ImageBuffer buffer;
+    private Graphic g;
+
+    /**
+     * Create batch and output.
+     */
+    @BeforeEach
+    void prepare()
+    {
+        final Services services = new Services();
+        atlas = services.add(Atlas.load());
+        batch = new SpriteBatch(services);
+        buffer = Graphics.createImageBuffer(320, 240, ColorRgba.TRANSPARENT);
+        g = buffer.createGraphic();
+    }
+
+    /**
+     * Dispose output and atlas.
+     */
+    @AfterEach
+    void cleanUp()
+    {
+        g.dispose();
+        buffer.dispose();
+        atlas.dispose();
+    }
+
+    /**
+     * Test sheets are registered once by media, with valid frames.
+     */
+    @Test
+    void testRegister()
+    {
+        final int projectiles = batch.register(PROJECTILES, 15, 16);
+
+        assertEquals(projectiles, batch.register(PROJECTILES, 15, 16));
+        assertNotEquals(projectiles, batch.register(ENTITY, 1, 1));
+        assertThrows(LionEngineException.class, () -> batch.register(UNPACKED, 0, 1));
+        assertThrows(LionEngineException.class, () -> batch.register(UNPACKED, 1, 0));
+    }
+
+    /**
+     * Test packed sheets share the atlas page, so interleaved draws never switch source.
+     */
+    @Test
+    void testPacked()
+    {
+        final int projectiles = batch.register(PROJECTILES, 15, 16);
+        final int entity = batch.register(ENTITY, 1, 1);
+        for (int i = 0; i < 4; i++)
+        {
+            batch.draw(projectiles, 1 + i, 10 * i, 20);
+            batch.draw(entity, 1, 10 * i, 60);
+        }
+        assertEquals(8, batch.getCount());
+
+        batch.render(g);
+
+        assertEquals(0, batch.getCount());
+        assertEquals(1, batch.getSwitches());
+    }
+
+    /**
+     * Test draws are grouped by source image.
+     */
+    @Test
+    void testOrder()
+    {
+        final int projectiles = batch.register(PROJECTILES, 15, 16);
+        final int unpacked = batch.register(UNPACKED, 1, 1);
+        batch.draw(projectiles, 1, 0, 0);
+        batch.draw(unpacked, 1, 0, 0);
+        batch.draw(projectiles, 1, 0, 0);
+        batch.draw(unpacked, 1, 0, 0);
+
+        batch.render(g);
+
+        assertEquals(2, batch.getSwitches());
+
+        batch.render(g);
+
+        assertEquals(0, batch.getSwitches());
+    }
+
+    /**
+     * Test recording beyond default capacity.
+     */
+    @Test
+    void testGrow()
+    {
+        final int projectiles = batch.register(PROJECTILES, 15, 16);
+        for (int i = 0; i < 3000; i++)
+        {
+            batch.draw(projectiles, 1, i % 320, 0);
+        }
+        assertEquals(3000, batch.getCount());
+
+        batch.render(g);
+
+        assertEquals(0, batch.getCount());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.audio.AudioFactory;
+import com.b3dgs.lionengine.audio.wav.WavFormat;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+
+/**
+ * Shared test fixture, starting the engine with wav sounds before all tests of the extended class, terminating it
+ * after, and writing featurable configurations to temporary folders.
+ */
+public final class TestFixture implements BeforeAllCallback, AfterAllCallback
+{
+    /** Featurable header. */
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                                         + "<lionengine:featurable "
+                                         + "xmlns:lionengine=\"http://lionengine.b3dgs.com/xsd/10\">\n";
+    /** Featurable footer. */
+    private static final String FOOTER = "</lionengine:featurable>\n";
+
+    /**
+     * Write a featurable configuration.
+     * 
+     * @param folder The temporary folder.
+     * @param content The featurable nodes.
+     * @return The featurable media.
+     * @throws IOException If error.
+     */
+    public static Media createFeaturable(Path folder, String content) throws IOException
+    {
+        final File file = new File(folder.toFile(), "featurable.xml");
+        Files.write(file.toPath(), (HEADER + content + FOOTER).getBytes(StandardCharsets.UTF_8));
+        return Medias.get(file);
+    }
+
+    /**
+     * Create fixture.
+     */
+    public TestFixture()
+    {
+        super();
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context)
+    {
+        if (!Engine.isStarted())
+        {
+            EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppTyrian.class);
+        }
+        AudioFactory.clearFormats();
+        AudioFactory.addFormat(new WavFormat());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context)
+    {
+        AudioFactory.clearFormats();
+        Engine.terminate();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian;
+
+import com.b3dgs.lionengine.game.feature.FeatureInterface;
+import com.b3dgs.lionengine.game.feature.FeatureModel;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Setup;
+import com.b3dgs.lionengine.game.feature.Transformable;
+
+/**
+ * Test parallel routine implementation, moving its featurable by one horizontally on each update.
+ */
+@FeatureInterface
+public final class TestRoutine extends FeatureModel implements ParallelRoutine
+{
+    private volatile Thread thread;
+
+    /**
+     * Create routine.
+     * 
+     * @param services The services reference.
+     * @param setup The setup reference.
+     */
+    public TestRoutine(Services services, Setup setup)
+    {
+        super(services, setup);
+    }
+
+    /**
+     * Get the last update thread.
+     * 
+     * @return The last update thread, <code>null</code> if not updated.
+     */
+    public Thread getThread()
+    {
+        return thread;
+    }
+
+    @Override
+    public void update(double extrp, CommandBuffer commands)
+    {
+        thread = Thread.currentThread();
+        commands.move(getFeature(Transformable.class), extrp, 0.0);
+    }
+}
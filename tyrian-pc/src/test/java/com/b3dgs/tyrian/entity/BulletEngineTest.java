@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.entity;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.Simulation;
+import com.b3dgs.tyrian.TestFixture;
+
+/**
+ * Test {@link BulletEngine}.
+ */
+@ExtendWith(TestFixture.class)
+final class BulletEngineTest
+{
+    /** Bullets launched above and below the sweep location. */
+    private static final int SWEEP = 30;
+
+    private Services services;
+    private Simulation simulation;
+    private BulletEngine bullets;
+    private int type;
+
+    /**
+     * Create world and settle it with one update.
+     */
+    @BeforeEach
+    void prepare()
+    {
+        services = Simulation.createServices();
+        simulation = new Simulation(services);
+        bullets = services.get(BulletEngine.class);
+        type = bullets.register(Medias.create("projectile", "pulse.xml"));
+        simulation.run(1, Simulation.EXTRP);
+    }
+
+    /**
+     * Terminate world.
+     */
+    @AfterEach
+    void cleanUp()
+    {
+        simulation.close();
+    }
+
+    /**
+     * Launch still bullets on a vertical line and update them once.
+     * 
+     * @param x The line horizontal location.
+     * @param y The line center vertical location.
+     * @param group The bullets collision group.
+     * @return The remaining bullets.
+     */
+    private int sweep(double x, double y, int group)
+    {
+        bullets.clear();
+        for (int i = -SWEEP; i <= SWEEP; i++)
+        {
+            bullets.launch(type, x, y + i, 0.0, 0.0, group);
+        }
+        bullets.update(0.0);
+        return bullets.getCount();
+    }
+
+    /**
+     * Test ship is hit once by update, only inside its collision box (narrower than its sprite).
+     */
+    @Test
+    void testShip()
+    {
+        final Transformable ship = services.get(ShipModel.class).getFeature(Transformable.class);
+        final int group = Constant.COLLISION_GROUP_PROJECTILES_ENTITIES.intValue();
+
+        final int missed = sweep(ship.getX() + 10.5, ship.getY(), group);
+        final int hit = sweep(ship.getX(), ship.getY(), group);
+
+        assertEquals(missed - 1, hit);
+    }
+
+    /**
+     * Test a bullet crossing the ship within one step hits it, even if both its locations are outside.
+     */
+    @Test
+    void testCross()
+    {
+        final Transformable ship = services.get(ShipModel.class).getFeature(Transformable.class);
+        final int group = Constant.COLLISION_GROUP_PROJECTILES_ENTITIES.intValue();
+
+        bullets.clear();
+        bullets.launch(type, ship.getX() + 10.5, ship.getY() - SWEEP, 0.0, SWEEP * 2.0, group);
+        bullets.update(1.0);
+        assertEquals(1, bullets.getCount());
+
+        bullets.clear();
+        bullets.launch(type, ship.getX(), ship.getY() - SWEEP, 0.0, SWEEP * 2.0, group);
+        bullets.update(1.0);
+        assertEquals(0, bullets.getCount());
+    }
+
+    /**
+     * Test bullets only hit targets accepting their group.
+     */
+    @Test
+    void testGroup()
+    {
+        final Transformable ship = services.get(ShipModel.class).getFeature(Transformable.class);
+
+        final int group = Constant.COLLISION_GROUP_PROJECTILES_ENTITIES.intValue();
+        final int missed = sweep(ship.getX() + 10.5, ship.getY(), group);
+
+        assertEquals(missed, sweep(ship.getX(), ship.getY(), Constant.COLLISION_GROUP_PROJECTILES_SHIP.intValue()));
+        assertEquals(missed, sweep(ship.getX(), ship.getY(), BulletEngine.NO_GROUP));
+    }
+
+    /**
+     * Test entity is hit inside its collision box only.
+     */
+    @Test
+    void testEntity()
+    {
+        final Camera camera = services.get(Camera.class);
+        final Featurable featurable = services.get(Factory.class)
+                                              .create(Medias.create(Constant.FOLDER_ENTITY, "dynamic", "h.xml"));
+        final Transformable entity = featurable.getFeature(Transformable.class);
+        entity.teleport(camera.getX() + camera.getWidth() / 2.0, camera.getY() + camera.getHeight() / 2.0);
+        services.get(Handler.class).add(featurable);
+        simulation.run(1, Simulation.EXTRP);
+
+        final int group = Constant.COLLISION_GROUP_PROJECTILES_SHIP.intValue();
+        final int missed = sweep(entity.getX() + 11.0, entity.getY(), group);
+        final int hit = sweep(entity.getX(), entity.getY(), group);
+
+        assertTrue(hit < missed);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2013-2024 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.tyrian.entity;
+
+import static com.b3dgs.lionengine.UtilAssert.assertEquals;
+import static com.b3dgs.lionengine.UtilAssert.assertFalse;
+import static com.b3dgs.lionengine.UtilAssert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.b3dgs.lionengine.Localizable;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.launchable.LauncherListener;
+import com.b3dgs.tyrian.Constant;
+import com.b3dgs.tyrian.FeaturablePool;
+import com.b3dgs.tyrian.Simulation;
+import com.b3dgs.tyrian.TestFixture;
+
+/**
+ * Test {@link EnemyFire} and shared weapon fire.
+ */
+@ExtendWith(TestFixture.class)
+final class EnemyFireTest
+{
+    /** Bullets weapon with a delayed launchable. */
+    private static final String WEAPON = "<lionengine:class>com.b3dgs.lionengine.helper.EntityHelper"
+                                         + "</lionengine:class>\n"
+                                         + "<lionengine:features>\n"
+                                         + "<lionengine:feature>com.b3dgs.tyrian.entity.WeaponModel"
+                                         + "</lionengine:feature>\n"
+                                         + "</lionengine:features>\n"
+                                         + "<bullets/>\n"
+                                         + "<lionengine:launcher level=\"0\" delay=\"1000\">\n"
+                                         + "<lionengine:launchable media=\"projectile/bullet.xml\" delay=\"100\">\n"
+                                         + "<lionengine:force velocity=\"8\" sensibility=\"0\" vx=\"3\" vy=\"3\"/>\n"
+                                         + "</lionengine:launchable>\n"
+                                         + "</lionengine:launcher>\n";
+    /** Fire location. */
+    private static final Localizable LOCATION = new Localizable()
+    {
+        @Override
+        public double getX()
+        {
+            return 0.0;
+        }
+
+        @Override
+        public double getY()
+        {
+            return 0.0;
+        }
+    };
+
+    private Services services;
+    private Simulation simulation;
+    private EnemyFire fire;
+
+    /**
+     * Create world.
+     */
+    @BeforeEach
+    void prepare()
+    {
+        services = Simulation.createServices();
+        simulation = new Simulation(services);
+        fire = services.get(EnemyFire.class);
+    }
+
+    /**
+     * Terminate world.
+     */
+    @AfterEach
+    void cleanUp()
+    {
+        simulation.close();
+    }
+
+    /**
+     * Test shooters registration.
+     */
+    @Test
+    void testShooters()
+    {
+        final Transformable shooter1 = services.get(ShipModel.class).getFeature(Transformable.class);
+        final Transformable shooter2 = fire.getWeapon().getFeature(Transformable.class);
+
+        fire.add(shooter1);
+        fire.add(shooter1);
+        fire.add(shooter2);
+        assertEquals(2, fire.getShooters());
+
+        fire.remove(shooter1);
+        fire.remove(shooter1);
+        assertEquals(1, fire.getShooters());
+
+        fire.remove(shooter2);
+        assertEquals(0, fire.getShooters());
+    }
+
+    /**
+     * Add a shooter to the handler, register it, then destroy it and remove it from the handler.
+     * 
+     * @param featurable The shooter featurable.
+     */
+    private void roundTrip(Featurable featurable)
+    {
+        final Handler handler = services.get(Handler.class);
+        final Identifiable identifiable = featurable.getFeature(Identifiable.class);
+        assertFalse(identifiable.isDestroyed());
+        handler.add(featurable);
+        handler.update(0.0);
+
+        final int shooters = fire.getShooters();
+        featurable.getFeature(Shooter.class).update(1.0);
+        assertEquals(shooters + 1, fire.getShooters());
+
+        identifiable.destroy();
+        assertTrue(identifiable.isDestroyed());
+        assertEquals(shooters, fire.getShooters());
+        handler.update(0.0);
+    }
+
+    /**
+     * Test a pooled shooter round trip: its destroy listener is registered once and notified once by destroy, so the
+     * shooter is removed once, and registered again when recycled.
+     */
+    @Test
+    void testRecycledShooter()
+    {
+        final FeaturablePool pool = services.get(FeaturablePool.class);
+        final Media media = Medias.create(Constant.FOLDER_ENTITY, Constant.FOLDER_DYNAMIC, "h.xml");
+        final Featurable featurable = pool.acquire(media);
+        final AtomicInteger destroyed = new AtomicInteger();
+        featurable.getFeature(Identifiable.class).addListener(id -> destroyed.incrementAndGet());
+
+        roundTrip(featurable);
+        assertEquals(1, destroyed.get());
+
+        assertTrue(featurable == pool.acquire(media));
+        roundTrip(featurable);
+        assertEquals(2, destroyed.get());
+    }
+
+    /**
+     * Test shared weapon is updated, so its fire delay elapses.
+     */
+    @Test
+    void testWeaponUpdated()
+    {
+        final WeaponModel weapon = fire.getWeapon();
+        final AtomicInteger fired = new AtomicInteger();
+        weapon.addListener((LauncherListener) fired::incrementAndGet);
+
+        weapon.fire(LOCATION, LOCATION);
+        weapon.fire(LOCATION, LOCATION);
+        assertEquals(1, fired.get());
+
+        for (int i = 0; i <= Constant.NATIVE.getRate(); i++)
+        {
+            fire.update(1.0);
+        }
+        weapon.fire(LOCATION, LOCATION);
+        assertEquals(2, fired.get());
+    }
+
+    /**
+     * Test shared fire honors launchables delay, each fire keeping its own source.
+     * 
+     * @param folder The temporary folder.
+     * @throws IOException If error.
+     */
+    @Test
+    void testSharedDelay(@TempDir Path folder) throws IOException
+    {
+        final WeaponModel weapon = services.get(Factory.class)
+                                           .create(TestFixture.createFeaturable(folder, WEAPON))
+                                           .getFeature(WeaponModel.class);
+        final BulletEngine bullets = services.get(BulletEngine.class);
+        bullets.clear();
+
+        weapon.fireShared(LOCATION, LOCATION);
+        weapon.fireShared(LOCATION, LOCATION);
+        assertEquals(0, bullets.getCount());
+        assertEquals(2, weapon.getSharedPending());
+
+        for (int i = 0; i < Constant.NATIVE.getRate(); i++)
+        {
+            weapon.update(1.0);
+        }
+
+        assertEquals(2, bullets.getCount());
+        assertEquals(0, weapon.getSharedPending());
+    }
+}